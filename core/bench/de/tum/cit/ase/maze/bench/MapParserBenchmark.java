@@ -0,0 +1,106 @@
+package de.tum.cit.ase.maze.bench;
+
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.LevelLoader;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Compares the streaming map parser with the former {@link Properties} based map loading.
+ * <p>
+ * The legacy path is reproduced from the old {@code GameScreen.findMapSize} and {@code GameScreen.loadMap}:
+ * the file is loaded into a {@link Properties} table, every key is split once to find the map size and
+ * a second time to read the tiles. Both paths are warmed up and then timed, and the bytes allocated per
+ * load are taken from the JVM's per-thread allocation counter.
+ * </p>
+ * <p>
+ * Run with {@code gradlew :core:bench -Pbenchmark=MapParserBenchmark [--args=<map file>]},
+ * the default map is {@code maps/level-4.properties}.
+ * </p>
+ */
+public class MapParserBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        String mapPath = args.length > 0 ? args[0] : "maps/level-4.properties";
+        FileHandle mapLocation = new FileHandle(mapPath);
+
+        System.out.println("Map: " + mapPath + " (" + mapLocation.length() + " bytes)");
+        report("Properties (legacy)", () -> loadLegacy(mapPath));
+        report("Streaming parser", () -> LevelLoader.loadProperties(mapLocation).getWidth());
+    }
+
+    private interface Load {
+        int run() throws IOException;
+    }
+
+    private static void report(String name, Load load) throws IOException {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += load.run();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += load.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-22s %9.1f us/load %12d bytes allocated/load   (%d)%n",
+                name, elapsed / 1_000.0 / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS, sink);
+    }
+
+    /**
+     * The map loading as it was done before the streaming parser, without building the tiled map.
+     */
+    private static int loadLegacy(String mapPath) throws IOException {
+        Properties properties = new Properties();
+        try (FileInputStream input = new FileInputStream(mapPath)) {
+            properties.load(input);
+        }
+
+        Map<String, Integer> mapSize = new HashMap<>();
+        if (properties.containsKey("Width") && properties.containsKey("Height")) {
+            mapSize.put("Width", Integer.parseInt(properties.getProperty("Width")));
+            mapSize.put("Height", Integer.parseInt(properties.getProperty("Height")));
+        } else {
+            int mapWidth = Integer.MIN_VALUE;
+            int mapHeight = Integer.MIN_VALUE;
+            for (String key : properties.stringPropertyNames()) {
+                if (key.contains(",")) {
+                    String[] coordinates = key.split(",");
+                    mapWidth = Math.max(mapWidth, Integer.parseInt(coordinates[0]));
+                    mapHeight = Math.max(mapHeight, Integer.parseInt(coordinates[1]));
+                }
+            }
+            mapSize.put("Width", mapWidth + 1);
+            mapSize.put("Height", mapHeight + 1);
+        }
+
+        int walls = 0;
+        for (String key : properties.stringPropertyNames()) {
+            if (key.contains(",")) {
+                String[] coordinates = key.split(",");
+                int x = Integer.parseInt(coordinates[0]);
+                int y = Integer.parseInt(coordinates[1]);
+                String value = properties.getProperty(key);
+                if (!value.equals("3") && !value.equals("4") && !value.equals("5")
+                        && !value.equals("6") && !value.equals("7")) {
+                    walls += Integer.parseInt(value) == LevelData.WALL ? x + y : 0;
+                }
+            }
+        }
+        return mapSize.get("Width") + (walls & 1);
+    }
+}
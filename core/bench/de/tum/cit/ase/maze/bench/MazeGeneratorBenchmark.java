@@ -0,0 +1,47 @@
+package de.tum.cit.ase.maze.bench;
+
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.MazeGenerator;
+
+/**
+ * Measures how long the {@link MazeGenerator} takes to generate mazes of increasing size.
+ * <p>
+ * Every size is generated a few times with different seeds after a warmup, and the average and best
+ * time are reported together with the number of cores the generator could use.
+ * </p>
+ * <p>
+ * Run with {@code gradlew :core:bench -Pbenchmark=MazeGeneratorBenchmark [--args=<size>]},
+ * the default sizes are 256, 1024 and 4096 tiles.
+ * </p>
+ */
+public class MazeGeneratorBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{256, 1024, 4096};
+
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors());
+        for (int size : sizes) {
+            long sink = 0;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                sink += MazeGenerator.generate(i, size, size).getTraps().size();
+            }
+
+            long total = 0;
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                LevelData level = MazeGenerator.generate(WARMUP_ROUNDS + i, size, size);
+                long elapsed = System.nanoTime() - start;
+                total += elapsed;
+                best = Math.min(best, elapsed);
+                sink += level.getTraps().size();
+            }
+
+            System.out.printf("%5dx%-5d %9.1f ms avg %9.1f ms best   (%d)%n",
+                    size, size, total / 1e6 / MEASURED_ROUNDS, best / 1e6, sink);
+        }
+    }
+}
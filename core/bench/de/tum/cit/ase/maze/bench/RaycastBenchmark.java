@@ -0,0 +1,85 @@
+package de.tum.cit.ase.maze.bench;
+
+import de.tum.cit.ase.maze.collision.CollisionGrid;
+import de.tum.cit.ase.maze.collision.GridRaycaster;
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.MazeGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measures how long the {@link GridRaycaster} takes to check the line of sight from many mobs to the player.
+ * <p>
+ * The mobs are spread over a generated maze and every frame each of them checks whether it can see the player, who
+ * wanders around the maze, with the batch query used by the {@code GameScreen}. Half of the mobs stand close to the
+ * player, within the sight range of the mobs, the others anywhere in the maze, where most lines are blocked early.
+ * Rays of the sight range are cast in random directions as well.
+ * </p>
+ * <p>
+ * Run with {@code gradlew :core:bench -Pbenchmark=RaycastBenchmark [--args=<queries>]},
+ * the default numbers of queries per frame are 1000, 10000 and 100000.
+ * </p>
+ */
+public class RaycastBenchmark {
+
+    private static final int FRAMES = 500;
+    private static final int MAZE_SIZE = 201;
+    private static final int BORDER_TILES = 20;
+    private static final int TILE_SIZE = 16;
+    private static final float SIGHT_RANGE = 5 * 16f;
+
+    public static void main(String[] args) {
+        int[] counts = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{1000, 10000, 100000};
+
+        LevelData level = MazeGenerator.generate(42, MAZE_SIZE, MAZE_SIZE);
+        CollisionGrid grid = new CollisionGrid(level, BORDER_TILES, TILE_SIZE);
+        GridRaycaster raycaster = new GridRaycaster(grid);
+        float min = BORDER_TILES * TILE_SIZE;
+        float size = MAZE_SIZE * TILE_SIZE;
+
+        for (int count : counts) {
+            SplittableRandom random = new SplittableRandom(count);
+            float[] origins = new float[2 * count];
+            float[] offsets = new float[2 * count];
+            boolean[] visible = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                if (i % 2 == 0) {
+                    offsets[2 * i] = (float) random.nextDouble(-SIGHT_RANGE, SIGHT_RANGE);
+                    offsets[2 * i + 1] = (float) random.nextDouble(-SIGHT_RANGE, SIGHT_RANGE);
+                } else {
+                    origins[2 * i] = min + (float) random.nextDouble(size);
+                    origins[2 * i + 1] = min + (float) random.nextDouble(size);
+                }
+            }
+
+            float playerX = min + size / 2;
+            float playerY = min + size / 2;
+            long sightNanos = 0;
+            long rayNanos = 0;
+            long seeing = 0;
+            double distance = 0;
+            for (int frame = 0; frame < FRAMES; frame++) {
+                playerX = Math.max(min, Math.min(min + size, playerX + (float) random.nextDouble(-8, 8)));
+                playerY = Math.max(min, Math.min(min + size, playerY + (float) random.nextDouble(-8, 8)));
+                for (int i = 0; i < count; i += 2) {
+                    origins[2 * i] = playerX + offsets[2 * i];
+                    origins[2 * i + 1] = playerY + offsets[2 * i + 1];
+                }
+
+                long start = System.nanoTime();
+                seeing += raycaster.hasLineOfSight(origins, count, playerX, playerY, visible);
+                sightNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    distance += raycaster.castRay(origins[2 * i], origins[2 * i + 1],
+                            offsets[2 * i] + .5f, offsets[2 * i + 1] - .5f, SIGHT_RANGE);
+                }
+                rayNanos += System.nanoTime() - start;
+            }
+
+            System.out.printf("%6d queries   line of sight %8.1f us/frame (%d visible)   rays %8.1f us/frame (%.1f px)%n",
+                    count, sightNanos / 1e3 / FRAMES, seeing / FRAMES, rayNanos / 1e3 / FRAMES, distance / FRAMES / count);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package de.tum.cit.ase.maze.bench;
+
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.MazeGenerator;
+import de.tum.cit.ase.maze.level.Reachability;
+
+/**
+ * Measures how long the {@link Reachability} analysis takes on generated mazes of increasing size.
+ * <p>
+ * Generated mazes are perfect mazes with long corridors, which is the worst case for the searches: the spawn
+ * search visits every open tile, and the key search usually visits a large part of the maze as well.
+ * </p>
+ * <p>
+ * Run with {@code gradlew :core:bench -Pbenchmark=ReachabilityBenchmark [--args=<size>]},
+ * the default sizes are 1025, 2049 and 4095 tiles.
+ * </p>
+ */
+public class ReachabilityBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{1025, 2049, 4095};
+
+        for (int size : sizes) {
+            LevelData level = MazeGenerator.generate(size, size, size);
+            long sink = 0;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                sink += Reachability.analyze(level).getSolutionLength();
+            }
+
+            long total = 0;
+            long best = Long.MAX_VALUE;
+            Reachability reachability = null;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                reachability = Reachability.analyze(level);
+                long elapsed = System.nanoTime() - start;
+                total += elapsed;
+                best = Math.min(best, elapsed);
+                sink += reachability.getSolutionLength();
+            }
+
+            System.out.printf("%5dx%-5d %9.1f ms avg %9.1f ms best   %d reachable tiles   (%d)%n",
+                    size, size, total / 1e6 / MEASURED_ROUNDS, best / 1e6, reachability.getReachableTiles(), sink);
+        }
+    }
+}
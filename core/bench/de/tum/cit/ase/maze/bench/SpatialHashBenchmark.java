@@ -0,0 +1,87 @@
+package de.tum.cit.ase.maze.bench;
+
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.ase.maze.collision.SpatialHash;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measures one frame of mob collision checks with a {@link SpatialHash} against a linear scan over all mobs.
+ * <p>
+ * The mobs wander randomly over a map of 512x512 tiles and are moved in the hash every frame, like in the
+ * {@code GameScreen}. Each frame then looks for the mobs touching a player-sized box, once with a hash query and
+ * once by testing every mob. Moving the mobs in the hash is reported on its own: it happens while the mobs are
+ * updated, which touches every mob anyway, while the query replaces the scan.
+ * </p>
+ * <p>
+ * Run with {@code gradlew :core:bench -Pbenchmark=SpatialHashBenchmark [--args=<mobs>]},
+ * the default mob counts are 1000, 10000 and 100000.
+ * </p>
+ */
+public class SpatialHashBenchmark {
+
+    private static final int FRAMES = 2000;
+    private static final float MAP_SIZE = 512 * 16f;
+    private static final float MOB_SIZE = 8f;
+
+    public static void main(String[] args) {
+        int[] counts = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{1000, 10000, 100000};
+
+        for (int count : counts) {
+            SplittableRandom random = new SplittableRandom(count);
+            float[] x = new float[count];
+            float[] y = new float[count];
+            SpatialHash hash = new SpatialHash(32f, count);
+            for (int id = 0; id < count; id++) {
+                x[id] = (float) random.nextDouble(MAP_SIZE);
+                y[id] = (float) random.nextDouble(MAP_SIZE);
+                hash.insert(id, x[id], y[id]);
+            }
+
+            IntArray nearby = new IntArray();
+            long moveNanos = 0;
+            long queryNanos = 0;
+            long scanNanos = 0;
+            long hits = 0;
+            for (int frame = 0; frame < FRAMES; frame++) {
+                for (int id = 0; id < count; id++) {
+                    x[id] = Math.max(0, Math.min(MAP_SIZE, x[id] + (float) random.nextDouble(-1, 1)));
+                    y[id] = Math.max(0, Math.min(MAP_SIZE, y[id] + (float) random.nextDouble(-1, 1)));
+                }
+                float playerX = (float) random.nextDouble(MAP_SIZE);
+                float playerY = (float) random.nextDouble(MAP_SIZE);
+
+                long start = System.nanoTime();
+                for (int id = 0; id < count; id++) {
+                    hash.move(id, x[id], y[id]);
+                }
+                long moved = System.nanoTime();
+                nearby.clear();
+                hash.query(playerX, playerY, playerX + 16, playerY + 16, nearby);
+                for (int i = 0; i < nearby.size; i++) {
+                    int id = nearby.get(i);
+                    if (overlaps(x[id], y[id], playerX, playerY)) {
+                        hits++;
+                    }
+                }
+                long middle = System.nanoTime();
+                for (int id = 0; id < count; id++) {
+                    if (overlaps(x[id], y[id], playerX, playerY)) {
+                        hits--;
+                    }
+                }
+                long end = System.nanoTime();
+                moveNanos += moved - start;
+                queryNanos += middle - moved;
+                scanNanos += end - middle;
+            }
+
+            System.out.printf("%7d mobs   move %8.1f us/frame   query %6.2f us/frame   scan %8.1f us/frame   (%d)%n",
+                    count, moveNanos / 1e3 / FRAMES, queryNanos / 1e3 / FRAMES, scanNanos / 1e3 / FRAMES, hits);
+        }
+    }
+
+    private static boolean overlaps(float mobX, float mobY, float playerX, float playerY) {
+        return mobX < playerX + 16 && playerX < mobX + MOB_SIZE && mobY < playerY + 16 && playerY < mobY + MOB_SIZE;
+    }
+}
@@ -0,0 +1,79 @@
+package de.tum.cit.ase.maze.bench;
+
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.collision.SweepAndPrune;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measures how long the {@link SweepAndPrune} broadphase takes to find the overlapping mobs in a long corridor.
+ * <p>
+ * The mobs are mob-sized boxes spread over a vertical corridor one tile wide, which is the worst case for a
+ * broadphase sweeping along the x-axis: every mob has the same x-coordinates. Every frame the mobs wander a little,
+ * the broadphase is updated and the overlapping pairs are collected, like in the {@code GameScreen}.
+ * For reference, the pairs are also found by testing every mob against every other, for up to 10000 mobs.
+ * </p>
+ * <p>
+ * Run with {@code gradlew :core:bench -Pbenchmark=SweepAndPruneBenchmark [--args=<mobs>]},
+ * the default mob counts are 1000, 10000 and 50000.
+ * </p>
+ */
+public class SweepAndPruneBenchmark {
+
+    private static final int FRAMES = 500;
+    private static final int MAX_BRUTE_FORCE_MOBS = 10000;
+
+    public static void main(String[] args) {
+        int[] counts = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{1000, 10000, 50000};
+
+        for (int count : counts) {
+            SplittableRandom random = new SplittableRandom(count);
+            // about one mob every other tile
+            float length = count * 32f;
+            Aabb[] boxes = new Aabb[count];
+            SweepAndPrune broadphase = new SweepAndPrune(count);
+            for (int id = 0; id < count; id++) {
+                boxes[id] = new Aabb((float) random.nextDouble(8), (float) random.nextDouble(length), 8, 6);
+                broadphase.update(id, boxes[id]);
+            }
+
+            IntArray pairs = new IntArray();
+            long sweepNanos = 0;
+            long found = 0;
+            for (int frame = 0; frame < FRAMES; frame++) {
+                for (Aabb box : boxes) {
+                    box.x = Math.max(0, Math.min(8, box.x + (float) random.nextDouble(-.5, .5)));
+                    box.y = Math.max(0, Math.min(length, box.y + (float) random.nextDouble(-.5, .5)));
+                }
+                long start = System.nanoTime();
+                for (int id = 0; id < count; id++) {
+                    broadphase.update(id, boxes[id]);
+                }
+                pairs.clear();
+                found += broadphase.findOverlaps(pairs);
+                sweepNanos += System.nanoTime() - start;
+            }
+
+            String bruteForce = "-";
+            if (count <= MAX_BRUTE_FORCE_MOBS) {
+                int frames = Math.max(1, FRAMES * 1000 / count / 10);
+                long start = System.nanoTime();
+                long bruteFound = 0;
+                for (int frame = 0; frame < frames; frame++) {
+                    for (int a = 0; a < count; a++) {
+                        for (int b = a + 1; b < count; b++) {
+                            if (boxes[a].overlaps(boxes[b])) {
+                                bruteFound++;
+                            }
+                        }
+                    }
+                }
+                bruteForce = String.format("%10.1f us/frame (%d)", (System.nanoTime() - start) / 1e3 / frames, bruteFound / frames);
+            }
+
+            System.out.printf("%6d mobs   sweep and prune %8.1f us/frame (%d pairs)   all pairs %s%n",
+                    count, sweepNanos / 1e3 / FRAMES, found / FRAMES, bruteForce);
+        }
+    }
+}
@@ -5,10 +5,15 @@
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import de.tum.cit.ase.maze.constants.GameState;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
+import de.tum.cit.ase.maze.graphics.SpriteAtlas;
 import de.tum.cit.ase.maze.helpers.GameOverScreen;
+import de.tum.cit.ase.maze.level.LevelCache;
 import de.tum.cit.ase.maze.screens.GameScreen;
+import de.tum.cit.ase.maze.screens.LoadingScreen;
 import de.tum.cit.ase.maze.screens.MenuScreen;
 import de.tum.cit.ase.maze.screens.PauseScreen;
 import de.tum.cit.ase.maze.screens.VictoryScreen;
@@ -33,6 +38,7 @@ public class MazeRunnerGame extends Game {
     // Screens for each stage of the game
     private MenuScreen menuScreen;
     private GameScreen gameScreen;
+    private LoadingScreen loadingScreen;
     private PauseScreen pauseScreen;
     private GameOverScreen gameOverScreen;
     private VictoryScreen victoryScreen;
@@ -43,9 +49,18 @@ public class MazeRunnerGame extends Game {
     private NativeFileChooser fileChooser;
     private FileHandle fileHandle;
 
+    // width and height of randomly generated mazes in tiles
+    private static final int GENERATED_MAZE_SIZE = 61;
+
+    // levels that were already loaded, so that restarting a map doesn't read and parse it again
+    private LevelCache levelCache;
+
     private Music menuScreenMusic;
     private Music gameScreenMusic;
 
+    // if the game screen simulates the game on a thread of its own instead of the render thread
+    private boolean threadedSimulation;
+
     /**
      * Constructs a MazeRunnerGame instance with a file chooser.
      * <p>
@@ -76,6 +91,7 @@ public MazeRunnerGame(NativeFileChooser fileChooser) {
     @Override
     public void create() {
         batch = new SpriteBatch();
+        levelCache = new LevelCache();
         skin = new Skin(Gdx.files.internal("craft/craftacular-ui.json"));
 
         // play background music
@@ -89,6 +105,7 @@ public void create() {
 
         // instantiate screen instances
         this.menuScreen = new MenuScreen(this);
+        this.loadingScreen = new LoadingScreen(this);
         this.pauseScreen = new PauseScreen(this);
         this.gameOverScreen = new GameOverScreen(this);
         this.victoryScreen = new VictoryScreen(this);
@@ -129,9 +146,12 @@ public void goToPause() {
      * This method is responsible for transitioning from any current game state to the active
      * gameplay screen. It stops the menu screen music and starts playing the game screen music.
      * If the current game state is either null, NEW_GAME, GAME_OVER, or VICTORY, it resets
-     * the game state to RUNNING and initializes a new GameScreen with the selected map file.
-     * This ensures that the game starts or restarts under the correct conditions. The method
-     * then sets the current screen to the game screen, where the actual gameplay takes place.
+     * the game state to RUNNING. If the selected map is the one the current GameScreen was loaded from
+     * and hasn't changed since, or the current GameScreen plays a generated maze, the GameScreen is only
+     * reset; otherwise a new GameScreen is loaded with the selected map file on the {@link LoadingScreen},
+     * which hands the loaded level over to {@link #goToLoadedGame(GameScreen)}. This ensures that the game
+     * starts or restarts under the correct conditions. The method then sets the current screen to the game
+     * screen, where the actual gameplay takes place.
      * </p>
      */
     public void goToGame() {
@@ -139,8 +159,52 @@ public void goToGame() {
         if (this.gameState == null || this.gameState == GameState.NEW_GAME || this.gameState == GameState.GAME_OVER || this.gameState == GameState.VICTORY) {
             gameScreenMusic.stop();
             this.gameState = GameState.RUNNING;
-            this.gameScreen = new GameScreen(this, fileHandle);
+            if (gameScreen != null && (fileHandle == null || gameScreen.getLevel() == levelCache.peek(fileHandle))) {
+                // retrying the same map, only the entities have to be put back
+                gameScreen.reset();
+            } else {
+                loadingScreen.load(fileHandle);
+                this.setScreen(loadingScreen);
+                return;
+            }
+        }
+        gameScreenMusic.play();
+        this.setScreen(gameScreen);
+    }
+
+    /**
+     * Starts a game on a randomly generated maze.
+     * <p>
+     * This method stops the menu and game music, sets the game state to RUNNING, and generates a new maze
+     * with a random seed on the {@link LoadingScreen}. No map file is selected while a generated maze is played,
+     * so restarting the game resets the same maze.
+     * </p>
+     */
+    public void goToGeneratedGame() {
+        menuScreenMusic.stop();
+        gameScreenMusic.stop();
+        this.gameState = GameState.RUNNING;
+        this.fileHandle = null;
+        loadingScreen.generate(MathUtils.random.nextLong(), GENERATED_MAZE_SIZE, GENERATED_MAZE_SIZE);
+        this.setScreen(loadingScreen);
+    }
+
+    /**
+     * Transitions the game to a level that has finished loading.
+     * <p>
+     * This method is called by the {@link LoadingScreen} once all resources of the new GameScreen are loaded.
+     * It releases the resources of the current game screen and replaces it, starts the game music, and sets the
+     * current screen to the new game screen.
+     * </p>
+     *
+     * @param gameScreen The loaded game screen.
+     */
+    public void goToLoadedGame(GameScreen gameScreen) {
+        if (this.gameScreen != null) {
+            // the level that was played before isn't needed anymore
+            this.gameScreen.release();
         }
+        this.gameScreen = gameScreen;
         gameScreenMusic.play();
         this.setScreen(gameScreen);
     }
@@ -204,6 +268,22 @@ public void setGameScreen(GameScreen gameScreen) {
         this.gameScreen = gameScreen;
     }
 
+    public LoadingScreen getLoadingScreen() {
+        return loadingScreen;
+    }
+
+    public void setLoadingScreen(LoadingScreen loadingScreen) {
+        this.loadingScreen = loadingScreen;
+    }
+
+    public LevelCache getLevelCache() {
+        return levelCache;
+    }
+
+    public void setLevelCache(LevelCache levelCache) {
+        this.levelCache = levelCache;
+    }
+
     public PauseScreen getPauseScreen() {
         return pauseScreen;
     }
@@ -220,6 +300,22 @@ public void setGameState(GameState gameState) {
         this.gameState = gameState;
     }
 
+    public boolean isThreadedSimulation() {
+        return threadedSimulation;
+    }
+
+    /**
+     * Sets if the game is simulated on a thread of its own, next to the render thread.
+     * <p>
+     * Takes effect the next time the game screen is shown. See {@link GameScreen} for how the threads share the game.
+     * </p>
+     *
+     * @param threadedSimulation {@code true} to simulate the game on its own thread.
+     */
+    public void setThreadedSimulation(boolean threadedSimulation) {
+        this.threadedSimulation = threadedSimulation;
+    }
+
     public NativeFileChooser getFileChooser() {
         return fileChooser;
     }
@@ -278,7 +374,13 @@ public void setGameScreenMusic(Music gameScreenMusic) {
      */
     @Override
     public void dispose() {
+        loadingScreen.dispose();
+        if (gameScreen != null) {
+            gameScreen.release();
+        }
         batch.dispose();
         skin.dispose();
+        AnimationRegistry.disposeShared();
+        SpriteAtlas.disposeShared();
     }
 }
\ No newline at end of file
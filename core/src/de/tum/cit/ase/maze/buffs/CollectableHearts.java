@@ -5,14 +5,10 @@
  */
 package de.tum.cit.ase.maze.buffs;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
 
-import java.awt.*;
 /**
  * Represents a power-up item(Heart) with animation and collision properties.
  */
@@ -22,12 +18,10 @@ public class CollectableHearts {
 
     private float sinusInput;
 
-    private Rectangle hitBox;
+    private Aabb hitBox;
 
-    Texture heartTextureSheet;
-    Animation<TextureRegion> heartAnimation;
-
-    Array<TextureRegion> animationFrames;
+    // handle of the clip in the AnimationRegistry
+    int clip;
     /**
      * Constructs a PowerBuff object with the specified initial position.
      *
@@ -38,23 +32,8 @@ public CollectableHearts(float x, float y) {
         this.x = x;
         this.y = y;
         this.sinusInput = 0f;
-        this.hitBox = new Rectangle((int) x, (int) y, 16, 16);
-        this.heartTextureSheet = new Texture(Gdx.files.internal("heart.png"));
-        this.heartAnimation = loadAnimation();
-    }
-    /**
-     * Loads the animation frames from the texture sheet.
-     *
-     * @return The Animation object created from the loaded frames.
-     */
-    private Animation<TextureRegion> loadAnimation() {
-        int FRAMES = 4;
-        int FRAME_SIZE = 32;
-        animationFrames = new Array<>(TextureRegion.class);
-        for (int col = 0; col < FRAMES; col++) {
-            animationFrames.add(new TextureRegion(heartTextureSheet, col * FRAME_SIZE, 0, FRAME_SIZE, FRAME_SIZE));
-        }
-        return new Animation<>(.2f, animationFrames);
+        this.hitBox = new Aabb(x, y, 16, 16);
+        this.clip = AnimationRegistry.get().getHandle(AnimationRegistry.HEART);
     }
     /**
      * Updates the heart's state based on the elapsed time.
@@ -63,21 +42,15 @@ private Animation<TextureRegion> loadAnimation() {
      */
     public void update(float delta) {
         sinusInput += delta;
-        hitBox.setLocation((int) x + 8, (int) y + 8);
+        hitBox.setPosition(x + 8, y + 8);
     }
     /**
-     * Draws the heart on the specified batch.
+     * Returns the animation frame the heart is drawn with.
      *
-     * @param batch The Batch used for rendering.
+     * @return The current frame of the heart's animation.
      */
-    public void draw(Batch batch) {
-        batch.draw(
-                heartAnimation.getKeyFrame(sinusInput, true),
-                x,
-                y,
-                32,
-                32
-        );
+    public TextureRegion getFrame() {
+        return AnimationRegistry.get().getFrame(clip, sinusInput);
     }
     // Getters and Setters...
     public float getX() {
@@ -104,39 +77,25 @@ public void setSinusInput(float sinusInput) {
         this.sinusInput = sinusInput;
     }
 
-    public Rectangle getHitBox() {
+    public Aabb getHitBox() {
         return hitBox;
     }
 
-    public void setHitBox(Rectangle hitBox) {
+    public void setHitBox(Aabb hitBox) {
         this.hitBox = hitBox;
     }
 
-    public Texture getHeartTextureSheet() {
-        return heartTextureSheet;
-    }
-
-    public void setHeartTextureSheet(Texture heartTextureSheet) {
-        this.heartTextureSheet = heartTextureSheet;
+    public int getClip() {
+        return clip;
     }
 
-    public Animation<TextureRegion> getHeartAnimation() {
-        return heartAnimation;
-    }
-
-    public Array<TextureRegion> getAnimationFrames() {
-        return animationFrames;
-    }
-
-    public void setAnimationFrames(Array<TextureRegion> animationFrames) {
-        this.animationFrames = animationFrames;
-    }
-
-    public void setHeartAnimation(Animation<TextureRegion> heartAnimation) {
-        this.heartAnimation = heartAnimation;
+    public void setClip(int clip) {
+        this.clip = clip;
     }
     /**
      * Disposes of the resources used by the power-up.
      */
-    public void dispose(){heartTextureSheet.dispose();};
+    public void dispose() {
+        // the animation is shared by all entities and released with the SpriteAtlas
+    }
 }
@@ -1,13 +1,8 @@
 package de.tum.cit.ase.maze.buffs;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
-
-import java.awt.*;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
 
 public class Key {
     private float x;
@@ -15,18 +10,16 @@ public class Key {
 
     private float stateTime;
 
-    private Rectangle hitBox;
+    private Aabb hitBox;
 
-    private Texture keyTextureSheet;
-    private Animation<TextureRegion> keyAnimation;
-    private Array<TextureRegion> animationFrames;
+    // handle of the key's clip in the AnimationRegistry
+    private int clip;
 
     /**
      * Constructs a new Key object at the specified location.
      * <p>
      * This constructor initializes a Key with its position set to (x, y). It also sets up the {@code hitBox}
-     * for the key and loads the texture and animation required for rendering the key. The texture for
-     * the key is obtained from the assets folder ("key.png").
+     * for the key and looks up its floating animation in the shared {@link AnimationRegistry} ("key").
      * </p>
      *
      * @param x The x-coordinate where the key will be positioned.
@@ -36,35 +29,8 @@ public Key(float x, float y) {
         this.x = x;
         this.y = y;
         stateTime = 0f;
-        hitBox = new Rectangle((int) x + 3, (int) y + 3, 10, 10);
-        keyTextureSheet = new Texture(Gdx.files.internal("key.png"));
-        keyAnimation = loadAnimation();
-    }
-
-    /**
-     * Loads the movement animation for key.
-     * <p>
-     * This private method initializes the animation for the key's floating effect by creating
-     * a sequence of texture frames. The animation is constructed from a sprite sheet
-     * where each frame represents a different stage of the key.
-     * The method sets up a specific number of frames (defined by {@code FRAMES}), each
-     * with a specified size (defined by {@code FRAME_SIZE}).
-     * These frames are then added to the animation sequence. The animation is stored in
-     * the {@code keyAnimation} field of the Key class.
-     * </p>
-     *
-     * @see Texture
-     * @see TextureRegion
-     * @see Animation
-     */
-    private Animation<TextureRegion> loadAnimation() {
-        int FRAMES = 4;
-        int FRAME_SIZE = 16;
-        animationFrames = new Array<>(TextureRegion.class);
-        for (int col = 0; col < FRAMES; col++) {
-            animationFrames.add(new TextureRegion(keyTextureSheet, col * FRAME_SIZE, 0, FRAME_SIZE, FRAME_SIZE));
-        }
-        return new Animation<>(.2f, animationFrames);
+        hitBox = new Aabb(x + 3, y + 3, 10, 10);
+        clip = AnimationRegistry.get().getHandle(AnimationRegistry.KEY);
     }
 
     /**
@@ -80,30 +46,16 @@ private Animation<TextureRegion> loadAnimation() {
      */
     public void update(float delta) {
         stateTime += delta;
-        hitBox.setLocation((int) x + 3, (int) y + 3);
+        hitBox.setPosition(x + 3, y + 3);
     }
 
     /**
-     * Draws the key on the screen.
-     * <p>
-     * This method renders the key's current animation frame at its position. It uses the batch
-     * provided to draw the texture. The method should be called within the game's render loop
-     * to ensure the key is properly displayed.
-     * </p>
+     * Returns the animation frame the key is drawn with.
      *
-     * @param batch The batch used for drawing the texture, part of the rendering system.
-     *
-     * @see Batch
-     * @see Animation
+     * @return The current frame of the key's animation.
      */
-    public void draw(Batch batch) {
-        batch.draw(
-                keyAnimation.getKeyFrame(stateTime, true),
-                x,
-                y,
-                16,
-                16
-        );
+    public TextureRegion getFrame() {
+        return AnimationRegistry.get().getFrame(clip, stateTime);
     }
 
     public float getX() {
@@ -135,40 +87,24 @@ public void setStateTime(float stateTime) {
         this.stateTime = stateTime;
     }
 
-    public Rectangle getHitBox() {
+    public Aabb getHitBox() {
         return hitBox;
     }
 
-    public void setHitBox(Rectangle hitBox) {
+    public void setHitBox(Aabb hitBox) {
         this.hitBox = hitBox;
     }
 
-    public Texture getKeyTextureSheet() {
-        return keyTextureSheet;
-    }
-
-    public void setKeyTextureSheet(Texture keyTextureSheet) {
-        this.keyTextureSheet = keyTextureSheet;
-    }
-
-    public Animation<TextureRegion> getKeyAnimation() {
-        return keyAnimation;
-    }
-
-    public void setKeyAnimation(Animation<TextureRegion> keyAnimation) {
-        this.keyAnimation = keyAnimation;
-    }
-
-    public Array<TextureRegion> getAnimationFrames() {
-        return animationFrames;
+    public int getClip() {
+        return clip;
     }
 
-    public void setAnimationFrames(Array<TextureRegion> animationFrames) {
-        this.animationFrames = animationFrames;
+    public void setClip(int clip) {
+        this.clip = clip;
     }
 
     public void dispose() {
-        keyTextureSheet.dispose();
+        // the animation is shared by all entities and released with the SpriteAtlas
     }
 
 }
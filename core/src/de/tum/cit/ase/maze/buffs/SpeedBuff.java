@@ -5,14 +5,10 @@
  */
 package de.tum.cit.ase.maze.buffs;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
 
-import java.awt.*;
 /**
  * Represents a speed boost item(Apple) with animation and collision properties.
  */
@@ -22,10 +18,10 @@ public class SpeedBuff {
 
     private float sinusInput;
 
-    private Rectangle hitBox;
+    private Aabb hitBox;
 
-    Texture appleTextureSheet;
-    Animation<TextureRegion> appleAnimation;
+    // handle of the clip in the AnimationRegistry
+    int clip;
     /**
      * Constructs a SpeedBuff object with the specified initial position.
      *
@@ -36,23 +32,8 @@ public SpeedBuff(float x, float y) {
         this.x = x;
         this.y = y;
         sinusInput = 0f;
-        hitBox = new Rectangle((int) x + 3, (int) y + 3, 10, 10);
-        appleTextureSheet = new Texture(Gdx.files.internal("apple.png"));
-        appleAnimation = loadAnimation();
-    }
-    /**
-     * Loads the animation frames from the texture sheet.
-     *
-     * @return The Animation object created from the loaded frames.
-     */
-    private Animation<TextureRegion> loadAnimation() {
-        int FRAMES = 4;
-        int FRAME_SIZE = 16;
-        Array<TextureRegion> animationFrames = new Array<>(TextureRegion.class);
-        for (int col = 0; col < FRAMES; col++) {
-            animationFrames.add(new TextureRegion(appleTextureSheet, col * FRAME_SIZE, 0, FRAME_SIZE, FRAME_SIZE));
-        }
-        return new Animation<>(.2f, animationFrames);
+        hitBox = new Aabb(x + 3, y + 3, 10, 10);
+        clip = AnimationRegistry.get().getHandle(AnimationRegistry.APPLE);
     }
     /**
      * Updates the Apple's state based on the elapsed time.
@@ -61,21 +42,15 @@ private Animation<TextureRegion> loadAnimation() {
      */
     public void update(float delta) {
         sinusInput += delta;
-        hitBox.setLocation((int) x + 3, (int) y + 3);
+        hitBox.setPosition(x + 3, y + 3);
     }
     /**
-     * Draws the Apple on the specified batch.
+     * Returns the animation frame the Apple is drawn with.
      *
-     * @param batch The Batch used for rendering.
+     * @return The current frame of the Apple's animation.
      */
-    public void draw(Batch batch) {
-        batch.draw(
-                appleAnimation.getKeyFrame(sinusInput, true),
-                x,
-                y,
-                16,
-                16
-        );
+    public TextureRegion getFrame() {
+        return AnimationRegistry.get().getFrame(clip, sinusInput);
     }
     /**
      * Sets the position of the Apple.
@@ -112,33 +87,25 @@ public void setSinusInput(float sinusInput) {
         this.sinusInput = sinusInput;
     }
 
-    public Rectangle getHitBox() {
+    public Aabb getHitBox() {
         return hitBox;
     }
 
-    public void setHitBox(Rectangle hitBox) {
+    public void setHitBox(Aabb hitBox) {
         this.hitBox = hitBox;
     }
 
-    public Texture getAppleTextureSheet() {
-        return appleTextureSheet;
-    }
-
-    public void setAppleTextureSheet(Texture appleTextureSheet) {
-        this.appleTextureSheet = appleTextureSheet;
-    }
-
-    public Animation<TextureRegion> getAppleAnimation() {
-        return appleAnimation;
+    public int getClip() {
+        return clip;
     }
 
-    public void setAppleAnimation(Animation<TextureRegion> appleAnimation) {
-        this.appleAnimation = appleAnimation;
+    public void setClip(int clip) {
+        this.clip = clip;
     }
     /**
      * Disposes of the resources used by the speed boost item.
      */
     public void dispose() {
-        appleTextureSheet.dispose();
+        // the animation is shared by all entities and released with the SpriteAtlas
     }
 }
@@ -0,0 +1,226 @@
+package de.tum.cit.ase.maze.collision;
+
+/**
+ * Axis-aligned bounding box with float coordinates, used for all hit, collision and trigger boxes of the game.
+ * <p>
+ * A box is given by its lower left corner and its size in pixels. Boxes are mutable and meant to be owned by an
+ * entity and moved in place every frame, so none of the queries allocate. A box with a width or height of zero
+ * (or less) is empty: it contains nothing and overlaps nothing, which entities use to switch a box off.
+ * </p>
+ * <p>
+ * Overlaps are strict, so boxes that only touch along an edge don't overlap. This matches tiles and entities that
+ * are placed next to each other on the pixel grid.
+ * </p>
+ */
+public final class Aabb {
+
+    public float x;
+    public float y;
+    public float width;
+    public float height;
+
+    /**
+     * Constructs an empty box at the origin.
+     */
+    public Aabb() {
+    }
+
+    /**
+     * Constructs a box.
+     *
+     * @param x      The x-coordinate of the lower left corner.
+     * @param y      The y-coordinate of the lower left corner.
+     * @param width  The width of the box.
+     * @param height The height of the box.
+     */
+    public Aabb(float x, float y, float width, float height) {
+        set(x, y, width, height);
+    }
+
+    public Aabb set(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public Aabb set(Aabb other) {
+        return set(other.x, other.y, other.width, other.height);
+    }
+
+    public Aabb setPosition(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public Aabb setSize(float width, float height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public float getMaxX() {
+        return x + width;
+    }
+
+    public float getMaxY() {
+        return y + height;
+    }
+
+    public float getCenterX() {
+        return x + width * .5f;
+    }
+
+    public float getCenterY() {
+        return y + height * .5f;
+    }
+
+    public boolean isEmpty() {
+        return width <= 0 || height <= 0;
+    }
+
+    /**
+     * Returns if this box and another box overlap.
+     *
+     * @param other The other box.
+     * @return {@code true} if the boxes share an area, {@code false} if they only touch, are apart or one is empty.
+     */
+    public boolean overlaps(Aabb other) {
+        return overlaps(other.x, other.y, other.width, other.height);
+    }
+
+    /**
+     * Returns if this box overlaps the box with the given bounds.
+     *
+     * @param otherX      The x-coordinate of the lower left corner of the other box.
+     * @param otherY      The y-coordinate of the lower left corner of the other box.
+     * @param otherWidth  The width of the other box.
+     * @param otherHeight The height of the other box.
+     * @return {@code true} if the boxes share an area.
+     */
+    public boolean overlaps(float otherX, float otherY, float otherWidth, float otherHeight) {
+        if (isEmpty() || otherWidth <= 0 || otherHeight <= 0) {
+            return false;
+        }
+        return x < otherX + otherWidth && otherX < x + width
+                && y < otherY + otherHeight && otherY < y + height;
+    }
+
+    /**
+     * Returns if a point lies inside this box. The lower and left edges belong to the box, the upper and right don't.
+     *
+     * @param pointX The x-coordinate of the point.
+     * @param pointY The y-coordinate of the point.
+     * @return {@code true} if the box contains the point.
+     */
+    public boolean contains(float pointX, float pointY) {
+        return pointX >= x && pointX < x + width && pointY >= y && pointY < y + height;
+    }
+
+    /**
+     * Returns if another box lies completely inside this box.
+     *
+     * @param other The other box.
+     * @return {@code true} if both boxes are not empty and the other box doesn't reach outside this box.
+     */
+    public boolean contains(Aabb other) {
+        if (isEmpty() || other.isEmpty()) {
+            return false;
+        }
+        return other.x >= x && other.y >= y && other.x + other.width <= x + width && other.y + other.height <= y + height;
+    }
+
+    /**
+     * Returns how far this box has to move along the x-axis to stop overlapping another box, taking the shorter way.
+     *
+     * @param other The other box.
+     * @return The signed distance to move this box by, or {@code 0} if the boxes don't overlap.
+     */
+    public float penetrationX(Aabb other) {
+        if (!overlaps(other)) {
+            return 0f;
+        }
+        float left = other.x - (x + width);
+        float right = other.x + other.width - x;
+        return -left < right ? left : right;
+    }
+
+    /**
+     * Returns how far this box has to move along the y-axis to stop overlapping another box, taking the shorter way.
+     *
+     * @param other The other box.
+     * @return The signed distance to move this box by, or {@code 0} if the boxes don't overlap.
+     */
+    public float penetrationY(Aabb other) {
+        if (!overlaps(other)) {
+            return 0f;
+        }
+        float down = other.y - (y + height);
+        float up = other.y + other.height - y;
+        return -down < up ? down : up;
+    }
+
+    /**
+     * Sweeps this box along a movement and returns when it first touches another box.
+     * <p>
+     * The movement is tested continuously, so a box moving fast enough to pass another box within a single step is
+     * still stopped in front of it. Boxes that already overlap at the start are reported as a hit at time 0.
+     * </p>
+     *
+     * @param deltaX The movement along the x-axis.
+     * @param deltaY The movement along the y-axis.
+     * @param other  The box in the way.
+     * @return The fraction of the movement in {@code [0, 1]} after which the boxes touch, or {@code 1} if they
+     *         don't meet during the movement.
+     */
+    public float sweep(float deltaX, float deltaY, Aabb other) {
+        if (isEmpty() || other.isEmpty()) {
+            return 1f;
+        }
+        if (overlaps(other)) {
+            return 0f;
+        }
+        float entryX;
+        float exitX;
+        if (deltaX > 0) {
+            entryX = (other.x - (x + width)) / deltaX;
+            exitX = (other.x + other.width - x) / deltaX;
+        } else if (deltaX < 0) {
+            entryX = (other.x + other.width - x) / deltaX;
+            exitX = (other.x - (x + width)) / deltaX;
+        } else if (x < other.x + other.width && other.x < x + width) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return 1f;
+        }
+        float entryY;
+        float exitY;
+        if (deltaY > 0) {
+            entryY = (other.y - (y + height)) / deltaY;
+            exitY = (other.y + other.height - y) / deltaY;
+        } else if (deltaY < 0) {
+            entryY = (other.y + other.height - y) / deltaY;
+            exitY = (other.y - (y + height)) / deltaY;
+        } else if (y < other.y + other.height && other.y < y + height) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return 1f;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry >= exit || entry < 0f || entry > 1f) {
+            return 1f;
+        }
+        return entry;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + x + "," + y + " " + width + "x" + height + "]";
+    }
+}
@@ -0,0 +1,100 @@
+package de.tum.cit.ase.maze.collision;
+
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.ObjectTable;
+
+/**
+ * Packed bitmap of the blocked tiles of a level, used for all wall collision checks of the entities.
+ * <p>
+ * The grid holds one bit per tile of the level, copied from the level's wall bitset when the level is built.
+ * The spawn and the exits are cut out of the walls, since their tiles replace walls on the map and can be
+ * walked on. A query is a bounds check, a shift and a mask, without touching any cell or tile objects.
+ * </p>
+ * <p>
+ * Queries use the coordinates of the game map, where the level is shifted by the border tiles around it.
+ * Tiles outside the level (the border included) are never blocked; entities are kept inside the level
+ * by clamping their position instead.
+ * </p>
+ */
+public final class CollisionGrid {
+
+    private final int width;
+    private final int height;
+    private final int offset;
+    private final int tileSize;
+    private final long[] blocked;
+
+    /**
+     * Builds the collision grid of a level.
+     *
+     * @param level       The level.
+     * @param borderTiles The number of border tiles the level is shifted by on the game map.
+     * @param tileSize    The size of a tile in pixels.
+     */
+    public CollisionGrid(LevelData level, int borderTiles, int tileSize) {
+        this.width = level.getWidth();
+        this.height = level.getHeight();
+        this.offset = borderTiles;
+        this.tileSize = tileSize;
+        this.blocked = level.copyWallWords();
+
+        if (level.hasSpawn()) {
+            clear(level.getSpawnX(), level.getSpawnY());
+        }
+        ObjectTable exits = level.getExits();
+        for (int i = 0; i < exits.size(); i++) {
+            clear(exits.getX(i), exits.getY(i));
+        }
+    }
+
+    private void clear(int x, int y) {
+        if (x >= 0 && y >= 0 && x < width && y < height) {
+            long index = (long) y * width + x;
+            blocked[(int) (index >>> 6)] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Returns if a tile of the game map is blocked by a wall.
+     *
+     * @param tileX The x-coordinate of the tile on the game map.
+     * @param tileY The y-coordinate of the tile on the game map.
+     * @return {@code true} if the tile is a wall, {@code false} otherwise.
+     */
+    public boolean isBlocked(int tileX, int tileY) {
+        int x = tileX - offset;
+        int y = tileY - offset;
+        if ((x | y) < 0 || x >= width || y >= height) {
+            return false;
+        }
+        long index = (long) y * width + x;
+        return (blocked[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns if the tile containing a point of the game map is blocked by a wall.
+     *
+     * @param x The x-coordinate of the point in pixels.
+     * @param y The y-coordinate of the point in pixels.
+     * @return {@code true} if the point lies on a wall, {@code false} otherwise.
+     */
+    public boolean isBlockedAt(float x, float y) {
+        return isBlocked((int) (x / tileSize), (int) (y / tileSize));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+}
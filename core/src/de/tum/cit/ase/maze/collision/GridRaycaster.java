@@ -0,0 +1,168 @@
+package de.tum.cit.ase.maze.collision;
+
+/**
+ * Line of sight and ray queries over the walls of a {@link CollisionGrid}.
+ * <p>
+ * A ray is traced through the tiles it crosses with a digital differential analyzer (DDA): starting in the tile of its
+ * origin, it steps to the next tile in x or y, whichever tile border the ray crosses first. This visits exactly the
+ * tiles the ray passes, in order, and stops at the first wall, so a query costs one grid lookup per crossed tile at
+ * most. No query allocates anything.
+ * </p>
+ * <p>
+ * Coordinates are pixels on the game map, like the positions of the entities. Tiles outside the level are never
+ * walls, just as for collisions.
+ * </p>
+ */
+public final class GridRaycaster {
+
+    private final CollisionGrid grid;
+    private final float tileSize;
+
+    /**
+     * Constructs a GridRaycaster.
+     *
+     * @param grid The walls that block rays.
+     */
+    public GridRaycaster(CollisionGrid grid) {
+        this.grid = grid;
+        this.tileSize = grid.getTileSize();
+    }
+
+    /**
+     * Returns if no wall lies between two points.
+     *
+     * @param fromX The x-coordinate of the first point.
+     * @param fromY The y-coordinate of the first point.
+     * @param toX   The x-coordinate of the second point.
+     * @param toY   The y-coordinate of the second point.
+     * @return {@code true} if none of the tiles the line between the points crosses is a wall, including the tiles
+     *         of the points themselves.
+     */
+    public boolean hasLineOfSight(float fromX, float fromY, float toX, float toY) {
+        int tileX = tileOf(fromX);
+        int tileY = tileOf(fromY);
+        int endX = tileOf(toX);
+        int endY = tileOf(toY);
+        float deltaX = toX - fromX;
+        float deltaY = toY - fromY;
+
+        int stepX = deltaX > 0 ? 1 : -1;
+        int stepY = deltaY > 0 ? 1 : -1;
+        // the fraction of the line after which it crosses the next vertical and horizontal tile border,
+        // and the fraction it takes to cross a whole tile
+        float nextX = boundary(fromX, deltaX, tileX);
+        float nextY = boundary(fromY, deltaY, tileY);
+        float stepFractionX = deltaX != 0 ? tileSize / Math.abs(deltaX) : Float.POSITIVE_INFINITY;
+        float stepFractionY = deltaY != 0 ? tileSize / Math.abs(deltaY) : Float.POSITIVE_INFINITY;
+
+        // the line crosses one tile border per step, so the number of steps is known up front
+        int steps = Math.abs(endX - tileX) + Math.abs(endY - tileY);
+        if (grid.isBlocked(tileX, tileY)) {
+            return false;
+        }
+        for (int i = 0; i < steps; i++) {
+            if (nextX < nextY) {
+                tileX += stepX;
+                nextX += stepFractionX;
+            } else {
+                tileY += stepY;
+                nextY += stepFractionY;
+            }
+            if (grid.isBlocked(tileX, tileY)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the line of sight from many points to one target, for example from every mob to the player.
+     *
+     * @param origins The points as consecutive x- and y-coordinates.
+     * @param count   The number of points.
+     * @param toX     The x-coordinate of the target.
+     * @param toY     The y-coordinate of the target.
+     * @param visible Receives for every point if it can see the target, must hold at least {@code count} entries.
+     * @return The number of points that can see the target.
+     */
+    public int hasLineOfSight(float[] origins, int count, float toX, float toY, boolean[] visible) {
+        int seeing = 0;
+        for (int i = 0; i < count; i++) {
+            visible[i] = hasLineOfSight(origins[2 * i], origins[2 * i + 1], toX, toY);
+            if (visible[i]) {
+                seeing++;
+            }
+        }
+        return seeing;
+    }
+
+    /**
+     * Casts a ray and returns how far it gets before it hits a wall.
+     *
+     * @param fromX       The x-coordinate of the origin of the ray.
+     * @param fromY       The y-coordinate of the origin of the ray.
+     * @param directionX  The x-component of the direction of the ray, doesn't have to be normalized.
+     * @param directionY  The y-component of the direction of the ray, doesn't have to be normalized.
+     * @param maxDistance The length of the ray in pixels.
+     * @return The distance from the origin to the first wall along the ray, {@code 0} if the origin is inside a wall,
+     *         or {@code maxDistance} if the ray hits no wall.
+     */
+    public float castRay(float fromX, float fromY, float directionX, float directionY, float maxDistance) {
+        float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+        if (length == 0 || maxDistance <= 0) {
+            return grid.isBlocked(tileOf(fromX), tileOf(fromY)) ? 0f : maxDistance;
+        }
+        float deltaX = directionX / length * maxDistance;
+        float deltaY = directionY / length * maxDistance;
+
+        int tileX = tileOf(fromX);
+        int tileY = tileOf(fromY);
+        int steps = Math.abs(tileOf(fromX + deltaX) - tileX) + Math.abs(tileOf(fromY + deltaY) - tileY);
+        int stepX = deltaX > 0 ? 1 : -1;
+        int stepY = deltaY > 0 ? 1 : -1;
+        float nextX = boundary(fromX, deltaX, tileX);
+        float nextY = boundary(fromY, deltaY, tileY);
+        float stepFractionX = deltaX != 0 ? tileSize / Math.abs(deltaX) : Float.POSITIVE_INFINITY;
+        float stepFractionY = deltaY != 0 ? tileSize / Math.abs(deltaY) : Float.POSITIVE_INFINITY;
+
+        if (grid.isBlocked(tileX, tileY)) {
+            return 0f;
+        }
+        for (int i = 0; i < steps; i++) {
+            float entered;
+            if (nextX < nextY) {
+                tileX += stepX;
+                entered = nextX;
+                nextX += stepFractionX;
+            } else {
+                tileY += stepY;
+                entered = nextY;
+                nextY += stepFractionY;
+            }
+            if (grid.isBlocked(tileX, tileY)) {
+                return Math.min(1f, entered) * maxDistance;
+            }
+        }
+        return maxDistance;
+    }
+
+    /**
+     * Returns the fraction of a line after which it crosses the first tile border along one axis.
+     */
+    private float boundary(float from, float delta, int tile) {
+        if (delta > 0) {
+            return ((tile + 1) * tileSize - from) / delta;
+        } else if (delta < 0) {
+            return (from - tile * tileSize) / -delta;
+        }
+        return Float.POSITIVE_INFINITY;
+    }
+
+    private int tileOf(float coordinate) {
+        return (int) Math.floor(coordinate / tileSize);
+    }
+
+    public CollisionGrid getGrid() {
+        return grid;
+    }
+}
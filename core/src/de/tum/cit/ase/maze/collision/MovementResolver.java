@@ -0,0 +1,177 @@
+package de.tum.cit.ase.maze.collision;
+
+/**
+ * Moves boxes through the walls of a {@link CollisionGrid} without letting them pass through or into a wall.
+ * <p>
+ * A movement is resolved one axis at a time, first along x and then along y. Along each axis the leading edge of the
+ * box is swept over every column (or row) of tiles it enters, from the nearest to the farthest, and the box stops
+ * flush against the first wall it meets. Because the whole path is swept, a fast box can't skip over a wall within a
+ * single step, however far it moves. Resolving the axes separately makes a box slide along a wall: the blocked part of
+ * a diagonal movement is dropped and the other part is kept.
+ * </p>
+ * <p>
+ * Only the tiles the box enters are tested, so a step costs at most (tiles crossed + 1) * (tiles the box spans)
+ * lookups per axis, and usually just a few. Tiles the box already overlaps are never tested, so a box that starts
+ * inside a wall can still move out of it.
+ * </p>
+ */
+public final class MovementResolver {
+
+    /**
+     * Returned by {@link #move(Aabb, float, float)} if the movement along x was cut short by a wall.
+     */
+    public static final int BLOCKED_X = 1;
+    /**
+     * Returned by {@link #move(Aabb, float, float)} if the movement along y was cut short by a wall.
+     */
+    public static final int BLOCKED_Y = 2;
+
+    private final CollisionGrid grid;
+    private final float tileSize;
+
+    /**
+     * Constructs a MovementResolver.
+     *
+     * @param grid The walls to move through.
+     */
+    public MovementResolver(CollisionGrid grid) {
+        this.grid = grid;
+        this.tileSize = grid.getTileSize();
+    }
+
+    /**
+     * Moves a box as far as the walls allow it, sliding along the walls in its way.
+     *
+     * @param box    The box to move, it is moved in place.
+     * @param deltaX The wanted movement along the x-axis in pixels.
+     * @param deltaY The wanted movement along the y-axis in pixels.
+     * @return A combination of {@link #BLOCKED_X} and {@link #BLOCKED_Y}, or {@code 0} if the box moved freely.
+     */
+    public int move(Aabb box, float deltaX, float deltaY) {
+        int blocked = 0;
+        if (deltaX != 0) {
+            float x = resolveX(box, deltaX);
+            if (x != box.x + deltaX) {
+                blocked |= BLOCKED_X;
+            }
+            box.x = x;
+        }
+        if (deltaY != 0) {
+            float y = resolveY(box, deltaY);
+            if (y != box.y + deltaY) {
+                blocked |= BLOCKED_Y;
+            }
+            box.y = y;
+        }
+        return blocked;
+    }
+
+    /**
+     * Returns how far a box can move along the x-axis before it touches a wall.
+     *
+     * @param box    The box.
+     * @param deltaX The wanted movement along the x-axis.
+     * @return The allowed movement, between zero and {@code deltaX}.
+     */
+    public float sweepX(Aabb box, float deltaX) {
+        return resolveX(box, deltaX) - box.x;
+    }
+
+    /**
+     * Returns how far a box can move along the y-axis before it touches a wall.
+     *
+     * @param box    The box.
+     * @param deltaY The wanted movement along the y-axis.
+     * @return The allowed movement, between zero and {@code deltaY}.
+     */
+    public float sweepY(Aabb box, float deltaY) {
+        return resolveY(box, deltaY) - box.y;
+    }
+
+    /**
+     * Returns the x-coordinate a box ends up at when it moves along the x-axis. A blocked box is placed exactly
+     * against the wall, computed from the wall's edge, so that rounding can't leave it overlapping the wall.
+     */
+    private float resolveX(Aabb box, float deltaX) {
+        int fromRow = firstTile(box.y);
+        int toRow = lastTile(box.y + box.height);
+        if (deltaX > 0) {
+            float edge = box.x + box.width;
+            int last = lastTile(edge + deltaX);
+            for (int column = lastTile(edge) + 1; column <= last; column++) {
+                if (isColumnBlocked(column, fromRow, toRow)) {
+                    return Math.max(box.x, column * tileSize - box.width);
+                }
+            }
+        } else {
+            int last = firstTile(box.x + deltaX);
+            for (int column = firstTile(box.x) - 1; column >= last; column--) {
+                if (isColumnBlocked(column, fromRow, toRow)) {
+                    return Math.min(box.x, (column + 1) * tileSize);
+                }
+            }
+        }
+        return box.x + deltaX;
+    }
+
+    /**
+     * Returns the y-coordinate a box ends up at when it moves along the y-axis, see {@link #resolveX(Aabb, float)}.
+     */
+    private float resolveY(Aabb box, float deltaY) {
+        int fromColumn = firstTile(box.x);
+        int toColumn = lastTile(box.x + box.width);
+        if (deltaY > 0) {
+            float edge = box.y + box.height;
+            int last = lastTile(edge + deltaY);
+            for (int row = lastTile(edge) + 1; row <= last; row++) {
+                if (isRowBlocked(row, fromColumn, toColumn)) {
+                    return Math.max(box.y, row * tileSize - box.height);
+                }
+            }
+        } else {
+            int last = firstTile(box.y + deltaY);
+            for (int row = firstTile(box.y) - 1; row >= last; row--) {
+                if (isRowBlocked(row, fromColumn, toColumn)) {
+                    return Math.min(box.y, (row + 1) * tileSize);
+                }
+            }
+        }
+        return box.y + deltaY;
+    }
+
+    private boolean isColumnBlocked(int column, int fromRow, int toRow) {
+        for (int row = fromRow; row <= toRow; row++) {
+            if (grid.isBlocked(column, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRowBlocked(int row, int fromColumn, int toColumn) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+            if (grid.isBlocked(column, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the tile containing a lower or left edge.
+     */
+    private int firstTile(float edge) {
+        return (int) Math.floor(edge / tileSize);
+    }
+
+    /**
+     * Returns the last tile covered by a box ending at an upper or right edge; the edge itself isn't covered.
+     */
+    private int lastTile(float edge) {
+        return (int) Math.ceil(edge / tileSize) - 1;
+    }
+
+    public CollisionGrid getGrid() {
+        return grid;
+    }
+}
@@ -0,0 +1,252 @@
+package de.tum.cit.ase.maze.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform spatial hash of small entities, used to find the entities near a box without looking at all of them.
+ * <p>
+ * The map is divided into square cells of {@code cellSize} pixels. Every entity is identified by an id chosen by the
+ * caller (usually its index in a list) and is stored in the cell that contains the lower left corner of its box.
+ * Since an entity may not be larger than a cell, a box query only has to look at the cells overlapping the box and
+ * the cells one step to the left and below, so its cost depends on the number of entities near the box instead of
+ * the number of entities in the level.
+ * </p>
+ * <p>
+ * Cells are hashed into a table of buckets, so the memory used depends on the number of entities and not on the size
+ * of the map. The buckets are doubly linked lists stored in primitive arrays indexed by id, so moving an entity to
+ * another cell is a constant-time relink and nothing is allocated after the arrays have grown to the number of ids.
+ * A query reports candidates: entities whose cell is near the box. The caller still tests their exact boxes.
+ * </p>
+ */
+public final class SpatialHash {
+
+    private static final int NONE = -1;
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    private final float cellSize;
+
+    // bucket table, each bucket holds the first id of its list
+    private int[] heads;
+    private int mask;
+
+    // per id: the links of the bucket list and the cell, cellX is ABSENT if the id isn't in the hash
+    private int[] next;
+    private int[] previous;
+    private int[] cellX;
+    private int[] cellY;
+    private int size;
+
+    /**
+     * Constructs an empty SpatialHash.
+     *
+     * @param cellSize The size of a cell in pixels, must be at least the size of the largest entity.
+     * @param capacity The expected number of entities, the hash grows beyond it if needed.
+     */
+    public SpatialHash(float cellSize, int capacity) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        int ids = Math.max(16, capacity);
+        next = new int[ids];
+        previous = new int[ids];
+        cellX = new int[ids];
+        cellY = new int[ids];
+        Arrays.fill(cellX, ABSENT);
+        heads = new int[tableSizeFor(ids)];
+        Arrays.fill(heads, NONE);
+        mask = heads.length - 1;
+    }
+
+    private static int tableSizeFor(int entities) {
+        int tableSize = 16;
+        while (tableSize < entities * 2 && tableSize < (1 << 30)) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    /**
+     * Adds an entity to the hash, or moves it if the id is already in the hash.
+     *
+     * @param id The id of the entity, not negative.
+     * @param x  The x-coordinate of the lower left corner of the entity's box in pixels.
+     * @param y  The y-coordinate of the lower left corner of the entity's box in pixels.
+     */
+    public void insert(int id, float x, float y) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+        if (contains(id)) {
+            move(id, x, y);
+            return;
+        }
+        ensureIds(id + 1);
+        if (size + 1 > heads.length / 2) {
+            rehash(tableSizeFor(size + 1));
+        }
+        link(id, cellOf(x), cellOf(y));
+        size++;
+    }
+
+    /**
+     * Updates the position of an entity. The entity is only relinked if it moved into another cell.
+     *
+     * @param id The id of the entity.
+     * @param x  The new x-coordinate of the lower left corner of the entity's box in pixels.
+     * @param y  The new y-coordinate of the lower left corner of the entity's box in pixels.
+     */
+    public void move(int id, float x, float y) {
+        if (!contains(id)) {
+            return;
+        }
+        int newCellX = cellOf(x);
+        int newCellY = cellOf(y);
+        if (newCellX != cellX[id] || newCellY != cellY[id]) {
+            unlink(id);
+            link(id, newCellX, newCellY);
+        }
+    }
+
+    /**
+     * Removes an entity from the hash.
+     *
+     * @param id The id of the entity.
+     * @return {@code true} if the entity was in the hash.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        unlink(id);
+        cellX[id] = ABSENT;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns if an entity is in the hash.
+     *
+     * @param id The id of the entity.
+     * @return {@code true} if the entity was inserted and not removed since.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < cellX.length && cellX[id] != ABSENT;
+    }
+
+    /**
+     * Removes all entities from the hash, keeping its arrays.
+     */
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(cellX, ABSENT);
+        size = 0;
+    }
+
+    /**
+     * Adds the ids of all entities that may overlap a box to a list.
+     * <p>
+     * Every entity in the hash whose box overlaps the query box is reported exactly once; entities close to
+     * the box may be reported as well. The order of the ids is unspecified.
+     * </p>
+     *
+     * @param minX The left edge of the query box in pixels.
+     * @param minY The bottom edge of the query box in pixels.
+     * @param maxX The right edge of the query box in pixels.
+     * @param maxY The top edge of the query box in pixels.
+     * @param out  The list the ids are added to, it is not cleared.
+     * @return The number of ids added.
+     */
+    public int query(float minX, float minY, float maxX, float maxY, IntArray out) {
+        if (size == 0) {
+            return 0;
+        }
+        // an entity stored in the cell to the left or below can still reach into the box
+        int fromX = cellOf(minX) - 1;
+        int fromY = cellOf(minY) - 1;
+        int toX = cellOf(maxX);
+        int toY = cellOf(maxY);
+        int added = 0;
+        for (int y = fromY; y <= toY; y++) {
+            for (int x = fromX; x <= toX; x++) {
+                // different cells can share a bucket, so only the ids stored in this cell are reported
+                for (int id = heads[hash(x, y)]; id != NONE; id = next[id]) {
+                    if (cellX[id] == x && cellY[id] == y) {
+                        out.add(id);
+                        added++;
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    private int cellOf(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int hash(int x, int y) {
+        int h = x * 0x9E3779B1 + y * 0x85EBCA6B;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void link(int id, int x, int y) {
+        int bucket = hash(x, y);
+        int head = heads[bucket];
+        cellX[id] = x;
+        cellY[id] = y;
+        previous[id] = NONE;
+        next[id] = head;
+        if (head != NONE) {
+            previous[head] = id;
+        }
+        heads[bucket] = id;
+    }
+
+    private void unlink(int id) {
+        int before = previous[id];
+        int after = next[id];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            heads[hash(cellX[id], cellY[id])] = after;
+        }
+        if (after != NONE) {
+            previous[after] = before;
+        }
+    }
+
+    private void ensureIds(int ids) {
+        if (ids <= cellX.length) {
+            return;
+        }
+        int grown = Math.max(ids, cellX.length * 2);
+        int oldLength = cellX.length;
+        next = Arrays.copyOf(next, grown);
+        previous = Arrays.copyOf(previous, grown);
+        cellX = Arrays.copyOf(cellX, grown);
+        cellY = Arrays.copyOf(cellY, grown);
+        Arrays.fill(cellX, oldLength, grown, ABSENT);
+    }
+
+    private void rehash(int tableSize) {
+        heads = new int[tableSize];
+        Arrays.fill(heads, NONE);
+        mask = tableSize - 1;
+        for (int id = 0; id < cellX.length; id++) {
+            if (cellX[id] != ABSENT) {
+                link(id, cellX[id], cellY[id]);
+            }
+        }
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return size;
+    }
+}
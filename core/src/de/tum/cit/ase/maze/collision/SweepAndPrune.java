@@ -0,0 +1,251 @@
+package de.tum.cit.ase.maze.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Sweep-and-prune broadphase: finds the pairs of overlapping boxes without testing every box against every other.
+ * <p>
+ * The boxes are kept in a list sorted by their lower edge on one axis. Finding the pairs is a single sweep over the
+ * list: a box is only tested against the boxes that follow it until one starts behind its upper edge, since none
+ * of the following boxes can overlap it on that axis. Entities move only a little from frame to frame, so the list
+ * stays nearly sorted and is repaired with an insertion sort, which takes about linear time in that case.
+ * </p>
+ * <p>
+ * The sweep axis is the one along which the boxes are spread out the most, so that boxes lined up in a corridor
+ * are sorted along the corridor. When the other axis becomes clearly better, the list is sorted anew along it.
+ * Boxes are identified by ids chosen by the caller and stored in primitive arrays, so nothing is allocated
+ * once the arrays have grown to the number of ids.
+ * </p>
+ */
+public final class SweepAndPrune {
+
+    private static final int AXIS_X = 0;
+    private static final int AXIS_Y = 1;
+
+    // the sweep axis is only switched if the other axis is spread out this much more
+    private static final float SWITCH_RATIO = 1.5f;
+
+    // bounds by id
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private boolean[] present;
+
+    // the ids of the boxes, sorted by their lower edge on the sweep axis
+    private int[] order;
+    private int size;
+    private int axis;
+    // boxes added since the last sweep, they are appended unsorted
+    private int added;
+
+    // scratch space to sort the list anew
+    private long[] keys;
+
+    /**
+     * Constructs an empty SweepAndPrune.
+     *
+     * @param capacity The expected number of boxes, the broadphase grows beyond it if needed.
+     */
+    public SweepAndPrune(int capacity) {
+        int ids = Math.max(16, capacity);
+        minX = new float[ids];
+        minY = new float[ids];
+        maxX = new float[ids];
+        maxY = new float[ids];
+        present = new boolean[ids];
+        order = new int[ids];
+        keys = new long[0];
+        axis = AXIS_X;
+    }
+
+    /**
+     * Adds a box, or updates its bounds if the id was already added.
+     *
+     * @param id  The id of the box, not negative.
+     * @param box The bounds of the box.
+     */
+    public void update(int id, Aabb box) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+        ensureIds(id + 1);
+        minX[id] = box.x;
+        minY[id] = box.y;
+        maxX[id] = box.x + box.width;
+        maxY[id] = box.y + box.height;
+        if (!present[id]) {
+            present[id] = true;
+            order[size++] = id;
+            added++;
+        }
+    }
+
+    /**
+     * Removes a box.
+     *
+     * @param id The id of the box.
+     */
+    public void remove(int id) {
+        if (id < 0 || id >= present.length || !present[id]) {
+            return;
+        }
+        present[id] = false;
+        for (int i = 0; i < size; i++) {
+            if (order[i] == id) {
+                System.arraycopy(order, i + 1, order, i, size - i - 1);
+                size--;
+                return;
+            }
+        }
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    /**
+     * Removes all boxes.
+     */
+    public void clear() {
+        Arrays.fill(present, false);
+        size = 0;
+        added = 0;
+    }
+
+    /**
+     * Adds the ids of every pair of overlapping boxes to a list, as consecutive entries.
+     * <p>
+     * Boxes that only touch along an edge don't overlap. Each pair is reported once, in no particular order.
+     * </p>
+     *
+     * @param pairs The list the pairs are added to, it is not cleared.
+     * @return The number of pairs added.
+     */
+    public int findOverlaps(IntArray pairs) {
+        chooseAxis();
+        float[] lower = axis == AXIS_X ? minX : minY;
+        float[] upper = axis == AXIS_X ? maxX : maxY;
+        float[] crossLower = axis == AXIS_X ? minY : minX;
+        float[] crossUpper = axis == AXIS_X ? maxY : maxX;
+        if (added > 16 && added > size / 8) {
+            // an insertion sort is slow on many unsorted boxes, like after a level is loaded
+            sortFully(lower);
+        } else {
+            insertionSort(lower);
+        }
+        added = 0;
+
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            int a = order[i];
+            float end = upper[a];
+            for (int j = i + 1; j < size; j++) {
+                int b = order[j];
+                if (lower[b] >= end) {
+                    break;
+                }
+                if (crossLower[a] < crossUpper[b] && crossLower[b] < crossUpper[a] && !isEmpty(a) && !isEmpty(b)) {
+                    pairs.add(a, b);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean isEmpty(int id) {
+        return maxX[id] <= minX[id] || maxY[id] <= minY[id];
+    }
+
+    /**
+     * Picks the axis along which the centers of the boxes are spread out the most, and sorts the list anew
+     * if it changed.
+     */
+    private void chooseAxis() {
+        if (size < 2) {
+            return;
+        }
+        double sumX = 0;
+        double sumY = 0;
+        double squaresX = 0;
+        double squaresY = 0;
+        for (int i = 0; i < size; i++) {
+            int id = order[i];
+            double centerX = (minX[id] + maxX[id]) * .5;
+            double centerY = (minY[id] + maxY[id]) * .5;
+            sumX += centerX;
+            sumY += centerY;
+            squaresX += centerX * centerX;
+            squaresY += centerY * centerY;
+        }
+        double varianceX = squaresX / size - (sumX / size) * (sumX / size);
+        double varianceY = squaresY / size - (sumY / size) * (sumY / size);
+
+        int best = axis;
+        if (axis == AXIS_X && varianceY > varianceX * SWITCH_RATIO * SWITCH_RATIO) {
+            best = AXIS_Y;
+        } else if (axis == AXIS_Y && varianceX > varianceY * SWITCH_RATIO * SWITCH_RATIO) {
+            best = AXIS_X;
+        }
+        if (best != axis) {
+            axis = best;
+            sortFully(axis == AXIS_X ? minX : minY);
+        }
+    }
+
+    /**
+     * Repairs the order of the nearly sorted list.
+     */
+    private void insertionSort(float[] lower) {
+        for (int i = 1; i < size; i++) {
+            int id = order[i];
+            float key = lower[id];
+            int j = i - 1;
+            while (j >= 0 && lower[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+    }
+
+    /**
+     * Sorts the list from scratch, packing each float key and id into a long so that a primitive sort can be used.
+     */
+    private void sortFully(float[] lower) {
+        if (keys.length < size) {
+            keys = new long[order.length];
+        }
+        for (int i = 0; i < size; i++) {
+            int id = order[i];
+            int bits = Float.floatToIntBits(lower[id]);
+            // flip negative floats so that the integer order matches the float order
+            bits ^= (bits >> 31) & 0x7FFFFFFF;
+            keys[i] = ((long) bits << 32) | id;
+        }
+        Arrays.sort(keys, 0, size);
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+    }
+
+    private void ensureIds(int ids) {
+        if (ids <= present.length) {
+            return;
+        }
+        int grown = Math.max(ids, present.length * 2);
+        minX = Arrays.copyOf(minX, grown);
+        minY = Arrays.copyOf(minY, grown);
+        maxX = Arrays.copyOf(maxX, grown);
+        maxY = Arrays.copyOf(maxY, grown);
+        present = Arrays.copyOf(present, grown);
+        order = Arrays.copyOf(order, grown);
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,199 @@
+package de.tum.cit.ase.maze.collision;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.util.Arrays;
+
+/**
+ * Index of the static interactables of a level by the tiles they cover, like exits and collectables.
+ * <p>
+ * Each trigger covers one or more tiles and has a {@link Listener}. Every frame the box of the player is passed to
+ * {@link #update(Aabb)}, which works out the tiles the box occupies. Only if these tiles differ from the ones of the
+ * last update are the triggers on them looked up and their listeners called, so a frame in which the player stays
+ * within the same tiles costs a few comparisons, however many triggers the level has.
+ * </p>
+ * <p>
+ * A listener decides whether its trigger is used up. A used trigger is disarmed and ignored until it is armed again,
+ * which is how collectables disappear. A listener that doesn't fire because a condition isn't met yet (like an exit
+ * while the player has no key) stays armed; when the condition changes without the player moving, {@link #invalidate()}
+ * makes the next update call the listeners of the occupied tiles again.
+ * </p>
+ */
+public final class TriggerIndex {
+
+    /**
+     * Called when the player occupies a tile covered by a trigger.
+     */
+    public interface Listener {
+
+        /**
+         * Handles the player touching a trigger.
+         *
+         * @param id The id of the trigger.
+         * @return {@code true} if the trigger is used up and should be disarmed, {@code false} to keep it armed.
+         */
+        boolean triggered(int id);
+    }
+
+    private final float tileSize;
+
+    // trigger ids by packed tile coordinates
+    private final LongMap<IntArray> triggersByTile;
+
+    private final Array<Listener> listeners;
+    private boolean[] armed;
+    // number of the update that last called a trigger, so a trigger covering several tiles fires once per update
+    private int[] firedInUpdate;
+    private int updates;
+
+    // tiles occupied at the last update, as an inclusive range
+    private int fromX;
+    private int fromY;
+    private int toX;
+    private int toY;
+    private boolean valid;
+
+    /**
+     * Constructs an empty TriggerIndex.
+     *
+     * @param tileSize The size of a tile in pixels.
+     */
+    public TriggerIndex(float tileSize) {
+        this.tileSize = tileSize;
+        this.triggersByTile = new LongMap<>();
+        this.listeners = new Array<>();
+        this.armed = new boolean[16];
+        this.firedInUpdate = new int[16];
+    }
+
+    /**
+     * Adds an armed trigger covering a single tile.
+     *
+     * @param tileX    The x-coordinate of the tile.
+     * @param tileY    The y-coordinate of the tile.
+     * @param listener The listener called when the player occupies the tile.
+     * @return The id of the trigger.
+     */
+    public int add(int tileX, int tileY, Listener listener) {
+        return add(tileX, tileY, tileX, tileY, listener);
+    }
+
+    /**
+     * Adds an armed trigger covering every tile a box overlaps.
+     *
+     * @param box      The area of the trigger in pixels.
+     * @param listener The listener called when the player occupies one of the tiles.
+     * @return The id of the trigger.
+     */
+    public int add(Aabb box, Listener listener) {
+        return add(firstTile(box.x), firstTile(box.y), lastTile(box.getMaxX()), lastTile(box.getMaxY()), listener);
+    }
+
+    private int add(int fromTileX, int fromTileY, int toTileX, int toTileY, Listener listener) {
+        int id = listeners.size;
+        listeners.add(listener);
+        if (id == armed.length) {
+            armed = Arrays.copyOf(armed, id * 2);
+            firedInUpdate = Arrays.copyOf(firedInUpdate, id * 2);
+        }
+        armed[id] = true;
+        firedInUpdate[id] = updates;
+        for (int y = fromTileY; y <= toTileY; y++) {
+            for (int x = fromTileX; x <= toTileX; x++) {
+                long tile = tileKey(x, y);
+                IntArray ids = triggersByTile.get(tile);
+                if (ids == null) {
+                    ids = new IntArray(2);
+                    triggersByTile.put(tile, ids);
+                }
+                ids.add(id);
+            }
+        }
+        valid = false;
+        return id;
+    }
+
+    /**
+     * Updates the tiles occupied by the player and calls the listeners of the armed triggers on them if the
+     * tiles changed since the last update, or the index was invalidated.
+     *
+     * @param box The box of the player in pixels.
+     */
+    public void update(Aabb box) {
+        int newFromX = firstTile(box.x);
+        int newFromY = firstTile(box.y);
+        int newToX = lastTile(box.getMaxX());
+        int newToY = lastTile(box.getMaxY());
+        if (valid && newFromX == fromX && newFromY == fromY && newToX == toX && newToY == toY) {
+            return;
+        }
+        fromX = newFromX;
+        fromY = newFromY;
+        toX = newToX;
+        toY = newToY;
+        valid = true;
+
+        int update = ++updates;
+        for (int y = fromY; y <= toY; y++) {
+            for (int x = fromX; x <= toX; x++) {
+                IntArray ids = triggersByTile.get(tileKey(x, y));
+                if (ids == null) {
+                    continue;
+                }
+                for (int i = 0; i < ids.size; i++) {
+                    int id = ids.get(i);
+                    if (armed[id] && firedInUpdate[id] != update) {
+                        firedInUpdate[id] = update;
+                        if (listeners.get(id).triggered(id)) {
+                            armed[id] = false;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes the next {@link #update(Aabb)} call the listeners of the occupied tiles, even if the player didn't move
+     * to other tiles. Used when the condition of a trigger changed, for example when the player lost a life while
+     * standing on a heart.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isArmed(int id) {
+        return armed[id];
+    }
+
+    public void setArmed(int id, boolean armed) {
+        this.armed[id] = armed;
+        valid = false;
+    }
+
+    /**
+     * Arms every trigger again, used when a level is restarted.
+     */
+    public void armAll() {
+        Arrays.fill(armed, 0, listeners.size, true);
+        valid = false;
+    }
+
+    public int size() {
+        return listeners.size;
+    }
+
+    private int firstTile(float edge) {
+        return (int) Math.floor(edge / tileSize);
+    }
+
+    private int lastTile(float edge) {
+        return (int) Math.ceil(edge / tileSize) - 1;
+    }
+
+    private static long tileKey(int x, int y) {
+        return ((long) y << 32) | (x & 0xFFFFFFFFL);
+    }
+}
@@ -1,14 +1,12 @@
 package de.tum.cit.ase.maze.entities;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.collision.CollisionGrid;
+import de.tum.cit.ase.maze.collision.MovementResolver;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
 import de.tum.cit.ase.maze.screens.GameScreen;
 
 /**
@@ -25,8 +23,8 @@
  */
 public class DynamicMob extends Mob {
 
-    private Animation<TextureRegion> animation;
-    private Texture spriteSheet;
+    // handle of the mob's walk clip in the AnimationRegistry
+    private int clip;
 
     private Vector2 originalPosition;
     private Vector2 targetPosition;
@@ -40,46 +38,73 @@ public class DynamicMob extends Mob {
     private final float INVINCIBILITY_DURATION;
 
     private Vector2 knockBackVector;
+    // scratch vector for the distance moved in a step, reused so that a step allocates nothing
+    private final Vector2 step;
     private float knockBackTime;
     private final float KNOCKBACKDURATION;
     private boolean beingKnockedBack;
 
-    private TiledMapTileLayer collisionLayer;
+    private CollisionGrid collisionGrid;
+    private MovementResolver movementResolver;
+
+    // set while the mob can see the player, the target position is then the player's position
+    private boolean chasing;
 
 
     /**
-     * Constructs a new DynamicMob with specified initial position and collision layer of the map.
+     * Constructs a new DynamicMob with specified initial position and collision grid of the map.
      * <p>
      * This constructor initializes a DynamicMob with a specific position on the map
-     * and associates it with a given collision layer. It sets various properties of the mob,
-     * such as its movable range, speed, lives, and spritesheet. It also initializes default
-     * values for knockback duration, invincibility state, and invincibility duration. After
-     * setting these properties, it loads the animation for the mob.
+     * and associates it with a given collision grid. It sets various properties of the mob,
+     * such as its movable range, speed, lives, and animation clip. It also initializes default
+     * values for knockback duration, invincibility state, and invincibility duration. The animation is
+     * shared by all mobs and only looked up in the {@link AnimationRegistry}.
      * </p>
      *
      * @param x The initial x-coordinate of the mob.
      * @param y The initial y-coordinate of the mob.
-     * @param collisionLayer The tiled map tile layer representing the collision layer of the map,
-     *                       used for collision detection.
+     * @param collisionGrid The grid of the blocked tiles of the map, used for collision detection.
      *
-     * @see TiledMapTileLayer
+     * @see CollisionGrid
      * @see Vector2
-     * @see Texture
+     * @see AnimationRegistry
      */
-    public DynamicMob(float x, float y, TiledMapTileLayer collisionLayer) {
+    public DynamicMob(float x, float y, CollisionGrid collisionGrid) {
         super(x, y, 8, 6);
-        this.collisionLayer = collisionLayer;
+        this.collisionGrid = collisionGrid;
+        this.movementResolver = new MovementResolver(collisionGrid);
         originalPosition = new Vector2(x, y);
         targetPosition = new Vector2(x, y);
+        knockBackVector = new Vector2();
+        step = new Vector2();
         movableRange = 32f;
         speed = 20f;
         lives = 3;
-        spriteSheet = new Texture(Gdx.files.internal("mobs.png"));
+        clip = AnimationRegistry.get().getHandle(AnimationRegistry.MOB_WALK);
         KNOCKBACKDURATION = 1f;
         beingKnockedBack = false;
         isInvincible = false;
         INVINCIBILITY_DURATION = 1f;
-        loadAnimation();
+    }
+
+
+    /**
+     * Puts the mob back into the state it was spawned in.
+     * <p>
+     * In addition to the position and animation, this restores the mob's lives and ends any invincibility
+     * or knockback, and lets the mob choose a new target from its spawn point.
+     * </p>
+     */
+    @Override
+    public void respawn() {
+        super.respawn();
+        targetPosition.set(originalPosition);
+        lives = 3;
+        isInvincible = false;
+        invincibility_timer = 0f;
+        beingKnockedBack = false;
+        knockBackTime = 0f;
+        chasing = false;
     }
 
 
@@ -108,7 +133,7 @@ public void update(float delta) {
 
         moveTowardsRandomTarget(delta);
 
-        super.getHitBox().setLocation((int) super.getX() + 4, (int) super.getY() + 6);
+        alignHitBox();
 
         updateInvincibility(delta);
 
@@ -128,25 +153,55 @@ public void update(float delta) {
      *     <li>When the mob encounters a wall, indicated by a collision detection.</li>
      * </ol>
      * If either of these conditions is met, a new target position is chosen, and the mob
-     * moves towards this new destination.
+     * moves towards this new destination. While the mob is chasing the player, see {@link #chase(float, float)},
+     * the target is the player's position instead, and the mob waits in front of a wall or on the reached target.
      * </p>
      *
      * @param delta The time span between the current and the last frame in seconds.
      * @see Vector2
      */
     private void moveTowardsRandomTarget(float delta) {
-        Vector2 currentPosition = new Vector2(super.getX(), super.getY());
-        if (!currentPosition.epsilonEquals(targetPosition, 1f)) {
-            Vector2 moveDirection = targetPosition.cpy().sub(currentPosition).nor();
+        float x = super.getX();
+        float y = super.getY();
+        if (!targetPosition.epsilonEquals(x, y, 1f)) {
+            step.set(targetPosition).sub(x, y).nor().scl(speed * delta);
             // check if the mob is going to collide with the wall
-            Vector2 potentialPosition = currentPosition.cpy().add(moveDirection.scl(speed * delta));
-            if (!isCellBlocked(potentialPosition.x + 2, potentialPosition.y + 2)) {
-                super.setX(potentialPosition.x);
-                super.setY(potentialPosition.y);
-            } else {
+            float potentialX = x + step.x;
+            float potentialY = y + step.y;
+            if (!isCellBlocked(potentialX + 2, potentialY + 2)) {
+                super.setX(potentialX);
+                super.setY(potentialY);
+            } else if (!chasing) {
                 chooseNewTargetPosition();
             }
-        } else {
+        } else if (!chasing) {
+            chooseNewTargetPosition();
+        }
+    }
+
+
+    /**
+     * Makes the mob walk towards the player.
+     * <p>
+     * This method is called every frame in which the mob can see the player. The given position replaces the
+     * randomly chosen target of the mob until {@link #stopChasing()} is called.
+     * </p>
+     *
+     * @param targetX The x-coordinate of the position to walk to.
+     * @param targetY The y-coordinate of the position to walk to.
+     */
+    public void chase(float targetX, float targetY) {
+        chasing = true;
+        targetPosition.set(targetX, targetY);
+    }
+
+
+    /**
+     * Makes the mob wander around its spawn point again, after it lost sight of the player.
+     */
+    public void stopChasing() {
+        if (chasing) {
+            chasing = false;
             chooseNewTargetPosition();
         }
     }
@@ -200,13 +255,14 @@ private void applyKnockBackEffect(float delta) {
                 beingKnockedBack = false;
             } else {
                 float knockBackFactor = knockBackTime / KNOCKBACKDURATION;
-                Vector2 knockBackThisFrame = knockBackVector.cpy().scl(knockBackFactor);
+                step.set(knockBackVector).scl(knockBackFactor);
 
                 // check for collision using potential position
-                Vector2 potentialPosition = new Vector2(super.getX(), super.getY()).add(knockBackThisFrame);
-                if (!isCellBlocked(potentialPosition.x + 16 / 2, potentialPosition.y + 16 /2)) {
-                    super.setX(super.getX() + knockBackThisFrame.x);
-                    super.setY(super.getY() + knockBackThisFrame.y);
+                float potentialX = super.getX() + step.x;
+                float potentialY = super.getY() + step.y;
+                if (!isCellBlocked(potentialX + 16 / 2, potentialY + 16 / 2)) {
+                    super.setX(potentialX);
+                    super.setY(potentialY);
                 } else {
                     beingKnockedBack = false;
                 }
@@ -216,64 +272,21 @@ private void applyKnockBackEffect(float delta) {
 
 
     /**
-     * Draws the mob with its current animation frame.
-     * <p>
-     * This method overrides the draw method to render the animated mob on the screen.
-     * It retrieves the appropriate frame from the animation sequence based on the
-     * current state time and then draws it at the mob's current position. The size of
-     * the drawn frame is set to a fixed width and height. This method is typically
-     * called within the game's rendering loop to continuously update the mob's appearance
-     * on the screen.
-     * </p>
-     *
-     * @param batch The batch used to draw the texture.
-     * @throws NullPointerException if {@code batch} is null.
-     *
-     * @see Batch
-     * @see Animation
+     * Moves the Hit Box to the mob's feet, 4 pixels from the left and 6 pixels from the bottom of its frame.
      */
     @Override
-    public void draw(Batch batch) {
-        batch.draw(
-                animation.getKeyFrame(super.stateTime, true),
-                super.getX(),
-                super.getY(),
-                16,
-                16
-        );
+    protected void alignHitBox() {
+        super.getHitBox().setPosition(super.getX() + 4, super.getY() + 6);
     }
 
 
-    /**
-     * Loads the movement animation for this dynamic mob.
-     * <p>
-     * This private method initializes the animation for the mob's movement by creating
-     * a sequence of texture frames. The animation is constructed from a sprite sheet
-     * where each frame represents a different stage of the mob's walking animation.
-     * The method sets up a specific number of frames (defined by {@code FRAMES}), each
-     * with a specified width and height (defined by {@code FRAME_WIDTH} and {@code FRAME_HEIGHT}).
-     * These frames are then added to the animation sequence. The animation is stored in
-     * the {@code animation} field of the DynamicMob class.
-     * </p>
-     *
-     * @see Texture
-     * @see TextureRegion
-     * @see Animation
-     */
-    private void loadAnimation() {
-        int FRAMES = 3;
-        int FRAME_WIDTH = 16;
-        int FRAME_HEIGHT = 16;
-
-        Array<TextureRegion> walkFrames = new Array<>(TextureRegion.class);
-
-        for (int col = 3; col < FRAMES + 3; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * FRAME_WIDTH, 4 * FRAME_HEIGHT, FRAME_WIDTH, FRAME_HEIGHT));
-        }
-        animation = new Animation<>(.1f, walkFrames);
+    @Override
+    public TextureRegion getFrame() {
+        return AnimationRegistry.get().getFrame(clip, super.stateTime);
     }
 
 
+
     /**
      * Selects a random target position within a defined range for the dynamic mob's movement.
      * <p>
@@ -299,25 +312,38 @@ private void chooseNewTargetPosition() {
     /**
      * Determines if a specified map cell is blocked, indicating a wall.
      * <p>
-     * This method checks if a cell at given coordinates in the {@code collisionLayer} is blocked.
-     * The {@code collisionLayer} is the second layer of the map object, parsed during
-     * the creation of a {@code DynamicMob} instance. A cell is considered blocked
-     * (representing a wall) if the following conditions are met:
-     * - The cell at the specified coordinates is not null.
-     * - The tile of the cell is not null.
-     * - The ID of the tile is 0, which is used to indicate a wall in the map design.
-     * The method returns true if all these conditions are satisfied, signifying the cell is blocked.
+     * This method checks if the tile at given coordinates is blocked in the {@code collisionGrid},
+     * which is built from the walls of the level and passed in on the creation of a {@code DynamicMob} instance.
+     * A tile is blocked if it is a wall of the level; tiles outside the level are never blocked.
      * </p>
      *
      * @param x The x-coordinate of the cell to check, in map units.
      * @param y The y-coordinate of the cell to check, in map units.
      * @return {@code true} if the cell is blocked, {@code false} otherwise.
      *
-     * @see TiledMapTileLayer
+     * @see CollisionGrid
      */
     private boolean isCellBlocked(float x, float y) {
-        TiledMapTileLayer.Cell cell = collisionLayer.getCell((int) (x / 16), (int) (y / 16));
-        return cell != null && cell.getTile() != null && cell.getTile().getId() == 0;
+        return collisionGrid.isBlockedAt(x, y);
+    }
+
+
+    /**
+     * Pushes the mob by the given distance without moving it into a wall.
+     * <p>
+     * This method is used to separate mobs that overlap each other. The hit box of the mob is moved through the
+     * walls by a {@link MovementResolver}, so a mob that is pushed against a wall stops at the wall.
+     * </p>
+     *
+     * @param deltaX The distance to push the mob along the x-axis.
+     * @param deltaY The distance to push the mob along the y-axis.
+     */
+    public void push(float deltaX, float deltaY) {
+        Aabb hitBox = super.getHitBox();
+        alignHitBox();
+        movementResolver.move(hitBox, deltaX, deltaY);
+        super.setX(hitBox.x - 4);
+        super.setY(hitBox.y - 6);
     }
 
 
@@ -344,10 +370,10 @@ private boolean isCellBlocked(float x, float y) {
     public void applyKnockBack(Player player, float knockBackDistance) {
         switch (player.getFacingDirection()) {
             case UP, DOWN:
-                knockBackVector = new Vector2(0, super.getY() - player.getPlayerY());
+                knockBackVector.set(0, super.getY() - player.getPlayerY());
                 break;
             case LEFT, RIGHT:
-                knockBackVector = new Vector2(super.getX() - player.getPlayerX(), 0);
+                knockBackVector.set(super.getX() - player.getPlayerX(), 0);
                 break;
         }
 
@@ -376,6 +402,10 @@ public void takeDamage() {
         }
     }
 
+    public boolean isChasing() {
+        return chasing;
+    }
+
     public int getLives() {
         return lives;
     }
@@ -384,20 +414,12 @@ public void setLives(int lives) {
         this.lives = lives;
     }
 
-    public Animation<TextureRegion> getAnimation() {
-        return animation;
-    }
-
-    public void setAnimation(Animation<TextureRegion> animation) {
-        this.animation = animation;
-    }
-
-    public Texture getSpriteSheet() {
-        return spriteSheet;
+    public int getClip() {
+        return clip;
     }
 
-    public void setSpriteSheet(Texture spriteSheet) {
-        this.spriteSheet = spriteSheet;
+    public void setClip(int clip) {
+        this.clip = clip;
     }
 
     public boolean isInvincible() {
@@ -450,7 +472,7 @@ public void setBeingKnockedBack(boolean beingKnockedBack) {
 
     @Override
     public void dispose() {
-        spriteSheet.dispose();
+        // the animation is shared by all entities and released with the SpriteAtlas
     }
 
 }
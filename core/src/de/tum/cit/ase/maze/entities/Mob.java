@@ -1,8 +1,7 @@
 package de.tum.cit.ase.maze.entities;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
-
-import java.awt.*;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import de.tum.cit.ase.maze.collision.Aabb;
 
 /**
  * Abstract base class (parent class) for all mob entities in the game.
@@ -20,7 +19,15 @@ public abstract class Mob {
     protected float y;
     protected float stateTime;
 
-    private Rectangle hitBox;
+    // the position before the last simulation step, the mob is drawn between it and the current position
+    private float previousX;
+    private float previousY;
+
+    // the position the mob was spawned at, see respawn()
+    private final float spawnX;
+    private final float spawnY;
+
+    private Aabb hitBox;
 
     /**
      * Constructs a Mob object with specified initial position and Hit Box dimensions.
@@ -37,8 +44,42 @@ public abstract class Mob {
     public Mob(float x, float y, int hitBoxWidth, int hitBoxHeight) {
         this.x = x;
         this.y = y;
+        previousX = x;
+        previousY = y;
+        spawnX = x;
+        spawnY = y;
         stateTime = 0f;
-        hitBox = new Rectangle((int) x, (int) y, hitBoxWidth, hitBoxHeight);
+        hitBox = new Aabb(x, y, hitBoxWidth, hitBoxHeight);
+        alignHitBox();
+    }
+
+    /**
+     * Puts the mob back into the state it was spawned in.
+     * <p>
+     * This method moves the mob back to its spawn point and restarts its animation, so that a level can be
+     * restarted without creating the mob (and loading its textures) again. Subclasses with additional state
+     * should override this method and call it.
+     * </p>
+     */
+    public void respawn() {
+        x = spawnX;
+        y = spawnY;
+        previousX = x;
+        previousY = y;
+        stateTime = 0f;
+        alignHitBox();
+    }
+
+    /**
+     * Moves the Hit Box of the mob to the mob's position.
+     * <p>
+     * By default the Hit Box starts at the position of the mob. Subclasses whose Hit Box lies elsewhere within
+     * their frame override this method; it is also called by the constructor, so an override may only use the
+     * position of the mob.
+     * </p>
+     */
+    protected void alignHitBox() {
+        hitBox.setPosition(x, y);
     }
 
     /**
@@ -53,15 +94,35 @@ public Mob(float x, float y, int hitBoxWidth, int hitBoxHeight) {
     public abstract void update(float delta);
 
     /**
-     * Draws the mob on the screen.
+     * Returns the animation frame the mob is drawn with.
      * <p>
-     * This abstract method is to be implemented by subclasses to define how the mob is rendered
-     * each frame using the provided batch.
+     * The frame depends only on the state of the mob after the last simulation step, so it can be taken over into a
+     * render snapshot and drawn on another thread.
      * </p>
      *
-     * @param batch The batch used for drawing the mob, part of the rendering system.
+     * @return The current frame of the mob's animation.
      */
-    public abstract void draw(Batch batch);
+    public abstract TextureRegion getFrame();
+
+    /**
+     * Remembers the current position as the position before the next simulation step.
+     * <p>
+     * Called by the screen before every simulation step, so that the render snapshot of the step can draw the mob
+     * at any point between the steps.
+     * </p>
+     */
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
+    }
 
     public float getX() {
         return x;
@@ -87,11 +148,11 @@ public void setStateTime(float stateTime) {
         this.stateTime = stateTime;
     }
 
-    public Rectangle getHitBox() {
+    public Aabb getHitBox() {
         return hitBox;
     }
 
-    public void setHitBox(Rectangle hitBox) {
+    public void setHitBox(Aabb hitBox) {
         this.hitBox = hitBox;
     }
 
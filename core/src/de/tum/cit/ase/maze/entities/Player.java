@@ -1,36 +1,36 @@
 package de.tum.cit.ase.maze.entities;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.collision.CollisionGrid;
+import de.tum.cit.ase.maze.collision.MovementResolver;
 import de.tum.cit.ase.maze.constants.Direction;
-
-import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
+import de.tum.cit.ase.maze.simulation.InputState;
+import de.tum.cit.ase.maze.simulation.SimulationThread;
 
 public class Player {
-    private Texture spriteSheet;
-
     private float playerX;
     private float playerY;
+    // the position before the last simulation step, the player is drawn between it and the current position
+    private float previousX;
+    private float previousY;
 
     private float speed;
+    // seconds of simulation left until the speed buff wears off, see increaseSpeed(float)
+    private float speedBuffTimer;
 
     private int playerWidth;
     private int playerHeight;
 
-    private TiledMapTileLayer collisionLayer;
+    private CollisionGrid collisionGrid;
+    private MovementResolver movementResolver;
 
-    private Rectangle collisionBox;
-    private Rectangle hitBox;
+    private Aabb collisionBox;
+    private Aabb hitBox;
 
     private boolean isInvincible;
     private float invincibility_timer;
@@ -39,7 +39,7 @@ public class Player {
     private Direction facingDirection;
     private boolean attacking;
     private float attackStateTime;
-    private Rectangle attackBox;
+    private Aabb attackBox;
 
     private Vector2 knockBackVector;
     private float knockBackTime;
@@ -48,20 +48,32 @@ public class Player {
 
     private int playerLives;
 
+    // scales the speed of diagonal movement down to the speed of straight movement
+    private static final float DIAGONAL_FACTOR = (float) (1 / Math.sqrt(2));
+
     private boolean hasKey;
 
-    private Map<String, Animation<TextureRegion>> playerAnimations;
-    private Animation<TextureRegion> currentAnimation;
+    // handles of the walk and attack clips in the AnimationRegistry, by the ordinal of the facing direction
+    private final int[] walkClips;
+    private final int[] attackClips;
+    // the walk clip of the direction the player last walked in
+    private int currentClip;
 
     private float stateTime;
 
     private Sound attackSound;
+    // plays the attack sound, handed to the render thread when the game is simulated on its own thread
+    private final Runnable playAttackSound = () -> attackSound.play();
 
-    public Player(float playerX, float playerY, TiledMapTileLayer collisionLayer) {
+    public Player(float playerX, float playerY, CollisionGrid collisionGrid) {
         this.playerX = playerX;
         this.playerY = playerY;
-        this.collisionLayer = collisionLayer;
+        this.previousX = playerX;
+        this.previousY = playerY;
+        this.collisionGrid = collisionGrid;
+        this.movementResolver = new MovementResolver(collisionGrid);
         this.speed = 80f;
+        this.speedBuffTimer = 0f;
         this.playerWidth = 16;
         this.playerHeight = 32;
         this.playerLives = 3;
@@ -72,22 +84,72 @@ public Player(float playerX, float playerY, TiledMapTileLayer collisionLayer) {
         facingDirection = Direction.DOWN;
         attacking = false;
         attackStateTime = 0f;
-        attackBox = new Rectangle((int) playerX, (int) playerY, 0, 0);
+        attackBox = new Aabb(playerX, playerY, 0, 0);
         attackSound = Gdx.audio.newSound(Gdx.files.internal("swing.wav"));
+        knockBackVector = new Vector2();
         knockBackTime = 0f;
         KNOCKBACKDURATION = 1f;
         beingKnockedBack = false;
-        this.collisionBox = new Rectangle((int) playerX + 4, (int) playerY + 6, (int) (playerWidth * 0.5), (int) (playerHeight * 0.2));
-        this.hitBox = new Rectangle((int) playerX + 4, (int) playerY + 8, 8, 15);
+        this.collisionBox = new Aabb(playerX + 4, playerY + 6, (int) (playerWidth * 0.5), (int) (playerHeight * 0.2));
+        this.hitBox = new Aabb(playerX + 4, playerY + 8, 8, 15);
         this.stateTime = 0f;
-        this.spriteSheet = new Texture(Gdx.files.internal("character.png"));
-        this.playerAnimations = this.loadAnimations();
-        this.currentAnimation = this.playerAnimations.get("down");
+        this.walkClips = new int[Direction.values().length];
+        this.attackClips = new int[Direction.values().length];
+        this.loadClips();
+        this.currentClip = walkClips[Direction.DOWN.ordinal()];
     }
 
-    public void update(float delta, int mapWidth, int mapHeight, int borderTiles) {
+    /**
+     * Puts the player back into the state of a new game at the given position.
+     * <p>
+     * This method restores the lives, speed and key possession of the player, ends any invincibility,
+     * knockback or attack, and moves the player to the given spawn point. It is used to restart a level
+     * without creating the player (and loading its textures and sounds) again.
+     * </p>
+     *
+     * @param playerX The x-coordinate of the spawn point.
+     * @param playerY The y-coordinate of the spawn point.
+     */
+    public void respawn(float playerX, float playerY) {
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.previousX = playerX;
+        this.previousY = playerY;
+        this.speed = 80f;
+        this.speedBuffTimer = 0f;
+        this.playerLives = 3;
+        this.hasKey = false;
+        isInvincible = false;
+        invincibility_timer = 0f;
+        facingDirection = Direction.DOWN;
         attacking = false;
-        attackBox.setLocation((int) playerX, (int) playerY);
+        attackStateTime = 0f;
+        attackBox.set(playerX, playerY, 0, 0);
+        knockBackTime = 0f;
+        beingKnockedBack = false;
+        this.collisionBox.setPosition(playerX + 4, playerY + 6);
+        this.hitBox.setPosition(playerX + 4, playerY + 8);
+        this.stateTime = 0f;
+        this.currentClip = walkClips[Direction.DOWN.ordinal()];
+    }
+
+    /**
+     * Advances the player by one simulation step.
+     * <p>
+     * The player moves and attacks according to the keys of the given input state, which were sampled by the
+     * render thread; the keyboard of the backend is never read here, as this may run on the simulation thread.
+     * </p>
+     *
+     * @param delta       The length of the step in seconds.
+     * @param input       The keys held by the player, see {@link InputState}.
+     * @param mapWidth    The width of the map in tiles.
+     * @param mapHeight   The height of the map in tiles.
+     * @param borderTiles The number of tiles around the map that the player can't enter.
+     */
+    public void update(float delta, InputState input, int mapWidth, int mapHeight, int borderTiles) {
+        int keys = input.getPressed();
+        attacking = false;
+        attackBox.setPosition(playerX, playerY);
         attackBox.setSize(0, 0);
 
         // apply knock back effect if beingKnockedBack is true
@@ -99,41 +161,23 @@ public void update(float delta, int mapWidth, int mapHeight, int borderTiles) {
                 beingKnockedBack = false;
             } else {
                 float knockBackFactor = knockBackTime / KNOCKBACKDURATION;
-                Vector2 knockBackThisFrame = knockBackVector.cpy().scl(knockBackFactor);
-
-                // check for collision using potential position
-                Vector2 potentialPosition = new Vector2(collisionBox.x, collisionBox.y).add(knockBackThisFrame);
-                if (knockBackThisFrame.x < 0) {
-                    if (!isCellBlocked(potentialPosition.x, potentialPosition.y) && !isCellBlocked(potentialPosition.x, potentialPosition.y + collisionBox.height)) {
-                        playerX += knockBackThisFrame.x;
-                    } else {
-                        beingKnockedBack = false;
-                    }
-                } else if (knockBackThisFrame.x > 0) {
-                    potentialPosition.add(1, 0);
-                    if (!isCellBlocked(potentialPosition.x + collisionBox.width, potentialPosition.y) && !isCellBlocked(potentialPosition.x + collisionBox.width, potentialPosition.y + collisionBox.height)) {
-                        playerX += knockBackThisFrame.x;
-                    } else {
-                        beingKnockedBack = false;
-                    }
-                } else if (knockBackThisFrame.y < 0) {
-                    if (!isCellBlocked(potentialPosition.x, potentialPosition.y) && !isCellBlocked(potentialPosition.x + collisionBox.width, potentialPosition.y)) {
-                        playerY += knockBackThisFrame.y;
-                    } else {
-                        beingKnockedBack = false;
-                    }
-                }
-                else if (knockBackThisFrame.y > 0) {
-                    potentialPosition.add(0, 1);
-                    if (!isCellBlocked(potentialPosition.x, potentialPosition.y + collisionBox.height) && !isCellBlocked(potentialPosition.x + collisionBox.width, potentialPosition.y + collisionBox.height)) {
-                        playerY += knockBackThisFrame.y;
-                    } else {
-                        beingKnockedBack = false;
-                    }
+
+                // the knock back is swept through the walls like any other movement and ends at the first wall
+                int blocked = move(knockBackVector.x * knockBackFactor, knockBackVector.y * knockBackFactor);
+                if (blocked != 0) {
+                    beingKnockedBack = false;
                 }
             }
         }
 
+        // count down the speed buff
+        if (speedBuffTimer > 0) {
+            speedBuffTimer -= delta;
+            if (speedBuffTimer <= 0) {
+                resetSpeed();
+            }
+        }
+
         // check to see if the player is invincible, if invincible, count down the timer
         if (isInvincible) {
             invincibility_timer -= delta;
@@ -148,52 +192,53 @@ else if (knockBackThisFrame.y > 0) {
         if (playerY < borderTiles * 16) playerY = borderTiles * 16;
         if (playerY > (mapHeight + borderTiles - 1) * 16) playerY = (mapHeight + borderTiles - 1) * 16;
 
-        // move player according to the input
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            facingDirection = Direction.LEFT;
-            stateTime += delta;
-            currentAnimation = playerAnimations.get("left");
-            float potentialX = collisionBox.x - (speed * delta);
-            if (!isCellBlocked(potentialX, collisionBox.y) && !isCellBlocked(potentialX, collisionBox.y + collisionBox.height)) {
-                playerX -= speed * delta;
-            }
-        } else if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            facingDirection = Direction.RIGHT;
-            stateTime += delta;
-            currentAnimation = playerAnimations.get("right");
-            float potentialX = collisionBox.x + (speed * delta) + 1;
-            if (!isCellBlocked(potentialX + collisionBox.width, collisionBox.y) && !isCellBlocked(potentialX + collisionBox.width, collisionBox.y + collisionBox.height)) {
-                playerX += speed * delta;
-            }
-        } else if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
-            facingDirection = Direction.UP;
-            stateTime += delta;
-            currentAnimation = playerAnimations.get("up");
-            float potentialY = collisionBox.y + (speed * delta) + 1;
-            if (!isCellBlocked(collisionBox.x, potentialY + collisionBox.height) && !isCellBlocked(collisionBox.x + collisionBox.height, potentialY + collisionBox.height)) {
-                playerY += speed * delta;
+        // move player according to the input, a horizontal and a vertical key can be held at the same time
+        float directionX = 0f;
+        float directionY = 0f;
+        if ((keys & InputState.LEFT) != 0) {
+            directionX = -1f;
+        } else if ((keys & InputState.RIGHT) != 0) {
+            directionX = 1f;
+        }
+        if ((keys & InputState.UP) != 0) {
+            directionY = 1f;
+        } else if ((keys & InputState.DOWN) != 0) {
+            directionY = -1f;
+        }
+
+        if (directionX != 0 || directionY != 0) {
+            // the player faces the horizontal direction when walking diagonally
+            if (directionX < 0) {
+                facingDirection = Direction.LEFT;
+            } else if (directionX > 0) {
+                facingDirection = Direction.RIGHT;
+            } else if (directionY > 0) {
+                facingDirection = Direction.UP;
+            } else {
+                facingDirection = Direction.DOWN;
             }
-        } else if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
-            facingDirection = Direction.DOWN;
+            currentClip = walkClips[facingDirection.ordinal()];
             stateTime += delta;
-            currentAnimation = playerAnimations.get("down");
-            float potentialY = collisionBox.y - (speed * delta);
-            if (!isCellBlocked(collisionBox.x, potentialY) && !isCellBlocked(collisionBox.x + collisionBox.width, potentialY)) {
-                playerY -= speed * delta;
+
+            // diagonal movement is as fast as straight movement
+            float distance = speed * delta;
+            if (directionX != 0 && directionY != 0) {
+                distance *= DIAGONAL_FACTOR;
             }
-        } else if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+            move(directionX * distance, directionY * distance);
+        } else if ((keys & InputState.ATTACK) != 0) {
             attacking = true;
             attackStateTime += delta;
             if (isSwingingSword()) {
                 updateAttackBox(facingDirection);
-                attackSound.play();
+                SimulationThread.runOnRenderThread(playAttackSound);
             }
         }
 
-        this.collisionBox.setLocation((int) playerX + 4, (int) playerY + 6);
+        this.collisionBox.setPosition(playerX + 4, playerY + 6);
 
         // update the size and location of player's hit box accordingly
-        this.hitBox.setLocation((int) playerX + 4, (int) playerY + 8);
+        this.hitBox.setPosition(playerX + 4, playerY + 8);
         switch (facingDirection) {
             case UP, DOWN:
                 hitBox.setSize(8, 10);
@@ -204,55 +249,70 @@ else if (knockBackThisFrame.y > 0) {
         }
     }
 
-    private boolean isCellBlocked(float x, float y) {
-        TiledMapTileLayer.Cell cell = collisionLayer.getCell((int) (x / 16), (int) (y / 16));
-        return cell != null && cell.getTile() != null && cell.getTile().getId() == 0;
+    /**
+     * Moves the player through the walls of the map.
+     * <p>
+     * The collision box is swept along the movement by the {@link MovementResolver}, which stops it at the first
+     * wall in its way and lets it slide along walls. The player's position follows the collision box.
+     * </p>
+     *
+     * @param deltaX The wanted movement along the x-axis in pixels.
+     * @param deltaY The wanted movement along the y-axis in pixels.
+     * @return The axes the movement was blocked on, see {@link MovementResolver#move(Aabb, float, float)}.
+     */
+    private int move(float deltaX, float deltaY) {
+        collisionBox.setPosition(playerX + 4, playerY + 6);
+        int blocked = movementResolver.move(collisionBox, deltaX, deltaY);
+        playerX = collisionBox.x - 4;
+        playerY = collisionBox.y - 6;
+        return blocked;
     }
 
-    public void draw (Batch batch) {
+    /**
+     * Returns the animation frame the player is drawn with, the frame of the attack in the facing direction while
+     * attacking, the frame of the walk otherwise.
+     *
+     * @return The current frame of the player's animation.
+     */
+    public TextureRegion getFrame() {
         if (attacking) {
-            if (facingDirection.equals(Direction.LEFT)) {
-                batch.draw(
-                        playerAnimations.get("attack-left").getKeyFrame(attackStateTime * 1.2f, true),
-                        playerX - 8,
-                        playerY,
-                        32,
-                        32
-                );
-            } else if (facingDirection.equals(Direction.RIGHT)) {
-                batch.draw(
-                        playerAnimations.get("attack-right").getKeyFrame(attackStateTime * 1.2f, true),
-                        playerX - 8,
-                        playerY,
-                        32,
-                        32
-                );
-            } else if (facingDirection.equals(Direction.UP)) {
-                batch.draw(
-                        playerAnimations.get("attack-up").getKeyFrame(attackStateTime * 1.2f, true),
-                        playerX - 8,
-                        playerY,
-                        32,
-                        32
-                );
-            } else if (facingDirection.equals(Direction.DOWN)) {
-                batch.draw(
-                        playerAnimations.get("attack-down").getKeyFrame(attackStateTime * 1.2f, true),
-                        playerX - 8,
-                        playerY,
-                        32,
-                        32
-                );
-            }
-        } else {
-            batch.draw(
-                    currentAnimation.getKeyFrame(stateTime, true),
-                    playerX,
-                    playerY,
-                    playerWidth,
-                    playerHeight
-            );
+            return AnimationRegistry.get().getFrame(attackClips[facingDirection.ordinal()], attackStateTime * 1.2f);
         }
+        return AnimationRegistry.get().getFrame(currentClip, stateTime);
+    }
+
+    /**
+     * Returns the distance between the player's position and the left edge of its frame; the 32x32 frames of the
+     * attack reach 8 pixels further to the left than the 16x32 frames of the walk.
+     *
+     * @return The horizontal offset of the frame in pixels.
+     */
+    public float getFrameOffsetX() {
+        return attacking ? -8 : 0;
+    }
+
+    public float getFrameWidth() {
+        return attacking ? 32 : playerWidth;
+    }
+
+    public float getFrameHeight() {
+        return attacking ? 32 : playerHeight;
+    }
+
+    /**
+     * Remembers the current position as the position before the next simulation step.
+     */
+    public void savePreviousPosition() {
+        previousX = playerX;
+        previousY = playerY;
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
     }
 
     /**
@@ -274,92 +334,42 @@ public void draw (Batch batch) {
     public void updateAttackBox(Direction direction) {
         switch (direction){
             case LEFT:
-                attackBox.setLocation((int) playerX - 6, (int) playerY + 4);
+                attackBox.setPosition(playerX - 6, playerY + 4);
                 attackBox.setSize(7, 16);
                 break;
             case RIGHT:
-                attackBox.setLocation((int) playerX + 14, (int) playerY + 4);
+                attackBox.setPosition(playerX + 14, playerY + 4);
                 attackBox.setSize(7, 16);
                 break;
             case UP:
-                attackBox.setLocation((int) playerX, (int) playerY + 18);
+                attackBox.setPosition(playerX, playerY + 18);
                 attackBox.setSize(16, 7);
                 break;
             case DOWN:
-                attackBox.setLocation((int) playerX, (int) playerY + 1);
+                attackBox.setPosition(playerX, playerY + 1);
                 attackBox.setSize(16, 7);
                 break;
         }
     }
 
-    private Map<String, Animation<TextureRegion>> loadAnimations() {
-        Map<String, Animation<TextureRegion>> animationMap = new HashMap<>();
-
-        // define frame width, height and total frame per circle (there are 4 frames in 1 walking circle)
-        int FRAME_WIDTH = 16;
-        int FRAME_HEIGHT = 32;
-        int ANIMATION_FRAMES = 4;
-
-        // LibGDX Array to load each frame needed for the animation
-        Array<TextureRegion> walkFrames = new Array<>(TextureRegion.class);
-
-        // walking down (1st row, 4 columns)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * FRAME_WIDTH, 0, FRAME_WIDTH, FRAME_HEIGHT));
-        }
-        animationMap.put("down", new Animation<>(0.1f, walkFrames));
-        walkFrames.clear();
-
-        // walking up (3rd row, 4 columns)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * FRAME_WIDTH, 2 * FRAME_HEIGHT, FRAME_WIDTH, FRAME_HEIGHT));
-        }
-        animationMap.put("up", new Animation<>(0.1f, walkFrames));
-        walkFrames.clear();
-
-        // walking left (4th row, 4 columns)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * FRAME_WIDTH, 3 * FRAME_HEIGHT, FRAME_WIDTH, FRAME_HEIGHT));
-        }
-        animationMap.put("left", new Animation<>(0.1f, walkFrames));
-        walkFrames.clear();
-
-        // walking right (2nd row, 4 columns)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * FRAME_WIDTH, FRAME_HEIGHT, FRAME_WIDTH, FRAME_HEIGHT));
-        }
-        animationMap.put("right", new Animation<>(0.1f, walkFrames));
-        walkFrames.clear();
-
-        // attacking face down (32 x 32, 5th row)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * 32, 4 * FRAME_HEIGHT, 32, 32));
-        }
-        animationMap.put("attack-down", new Animation<>(.12f, walkFrames));
-        walkFrames.clear();
-
-        // attacking face up (32 x 32, 6th row)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * 32, 5 * FRAME_HEIGHT, 32, 32));
-        }
-        animationMap.put("attack-up", new Animation<>(.12f, walkFrames));
-        walkFrames.clear();
-
-        // attacking face right (32 x 32, 7th row)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * 32, 6 * FRAME_HEIGHT, 32, 32));
-        }
-        animationMap.put("attack-right", new Animation<>(.12f, walkFrames));
-        walkFrames.clear();
-
-        // attacking face left (32 x 32, 8th row)
-        for (int col = 0; col < ANIMATION_FRAMES; col++) {
-            walkFrames.add(new TextureRegion(spriteSheet, col * 32, 7 * FRAME_HEIGHT, 32, 32));
-        }
-        animationMap.put("attack-left", new Animation<>(.12f, walkFrames));
-        walkFrames.clear();
-
-        return animationMap;
+    /**
+     * Looks up the handles of the player's clips in the shared {@link AnimationRegistry}.
+     * <p>
+     * The player walks with the 16x32 frames of the first four rows of the character sheet, and attacks with the
+     * 32x32 frames of the next four rows, one row per direction. The frames are shared, so this only fills the
+     * tables that map the facing direction to a clip.
+     * </p>
+     */
+    private void loadClips() {
+        AnimationRegistry animations = AnimationRegistry.get();
+        walkClips[Direction.DOWN.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_WALK_DOWN);
+        walkClips[Direction.UP.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_WALK_UP);
+        walkClips[Direction.LEFT.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_WALK_LEFT);
+        walkClips[Direction.RIGHT.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_WALK_RIGHT);
+        attackClips[Direction.DOWN.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_ATTACK_DOWN);
+        attackClips[Direction.UP.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_ATTACK_UP);
+        attackClips[Direction.LEFT.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_ATTACK_LEFT);
+        attackClips[Direction.RIGHT.ordinal()] = animations.getHandle(AnimationRegistry.PLAYER_ATTACK_RIGHT);
     }
 
     /**
@@ -415,10 +425,10 @@ public void takeDamage() {
     public void applyKnockBack(Mob mob, float knockBackDistance) {
         switch (facingDirection) {
             case UP, DOWN:
-                knockBackVector = new Vector2(0, playerY - mob.getY());
+                knockBackVector.set(0, playerY - mob.getY());
                 break;
             case LEFT, RIGHT:
-                knockBackVector = new Vector2(playerX - mob.getX(), 0);
+                knockBackVector.set(playerX - mob.getX(), 0);
                 break;
         }
 
@@ -429,25 +439,28 @@ public void applyKnockBack(Mob mob, float knockBackDistance) {
         beingKnockedBack = true;
     }
 
-    public void increaseSpeed() {
+    /**
+     * Doubles the speed of the player for a while, called when the player eats an apple.
+     * <p>
+     * The duration is counted down by {@link #update(float, int, int, int)}, in simulation time, so the buff doesn't
+     * wear off while the game is paused, and it ends on the same thread that moves the player.
+     * </p>
+     *
+     * @param duration The duration of the buff in seconds.
+     */
+    public void increaseSpeed(float duration) {
         // When hitting an apple, increase speed
         speed *= 2;
+        speedBuffTimer = duration;
     }
 
     public void resetSpeed() {
         // Return to normal speed
         speed = 80f;
+        speedBuffTimer = 0f;
     }
 
 
-    public Texture getSpriteSheet() {
-        return spriteSheet;
-    }
-
-    public void setSpriteSheet(Texture spriteSheet) {
-        this.spriteSheet = spriteSheet;
-    }
-
     public float getPlayerX() {
         return playerX;
     }
@@ -488,20 +501,12 @@ public void setPlayerHeight(int playerHeight) {
         this.playerHeight = playerHeight;
     }
 
-    public Map<String, Animation<TextureRegion>> getPlayerAnimations() {
-        return playerAnimations;
-    }
-
-    public void setPlayerAnimations(Map<String, Animation<TextureRegion>> playerAnimations) {
-        this.playerAnimations = playerAnimations;
-    }
-
-    public Animation<TextureRegion> getCurrentAnimation() {
-        return currentAnimation;
+    public int getCurrentClip() {
+        return currentClip;
     }
 
-    public void setCurrentAnimation(Animation<TextureRegion> currentAnimation) {
-        this.currentAnimation = currentAnimation;
+    public void setCurrentClip(int currentClip) {
+        this.currentClip = currentClip;
     }
 
     public float getStateTime() {
@@ -512,27 +517,28 @@ public void setStateTime(float stateTime) {
         this.stateTime = stateTime;
     }
 
-    public TiledMapTileLayer getCollisionLayer() {
-        return collisionLayer;
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
     }
 
-    public void setCollisionLayer(TiledMapTileLayer collisionLayer) {
-        this.collisionLayer = collisionLayer;
+    public void setCollisionGrid(CollisionGrid collisionGrid) {
+        this.collisionGrid = collisionGrid;
+        this.movementResolver = new MovementResolver(collisionGrid);
     }
 
-    public Rectangle getCollisionBox() {
+    public Aabb getCollisionBox() {
         return collisionBox;
     }
 
-    public void setCollisionBox(Rectangle collisionBox) {
+    public void setCollisionBox(Aabb collisionBox) {
         this.collisionBox = collisionBox;
     }
 
-    public Rectangle getHitBox() {
+    public Aabb getHitBox() {
         return hitBox;
     }
 
-    public void setHitBox(Rectangle hitBox) {
+    public void setHitBox(Aabb hitBox) {
         this.hitBox = hitBox;
     }
 
@@ -624,16 +630,15 @@ public void setAttackStateTime(float attackStateTime) {
         this.attackStateTime = attackStateTime;
     }
 
-    public Rectangle getAttackBox() {
+    public Aabb getAttackBox() {
         return attackBox;
     }
 
-    public void setAttackBox(Rectangle attackBox) {
+    public void setAttackBox(Aabb attackBox) {
         this.attackBox = attackBox;
     }
 
     public void dispose() {
-        spriteSheet.dispose();
         attackSound.dispose();
     }
 }
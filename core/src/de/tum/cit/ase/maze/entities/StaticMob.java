@@ -1,12 +1,8 @@
 package de.tum.cit.ase.maze.entities;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
 import de.tum.cit.ase.maze.entities.Mob;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
 
 /**
  * Represents a static mob (Trap) in the game.
@@ -19,15 +15,14 @@
  */
 public class StaticMob extends Mob {
 
-    private Texture spriteSheet;
-
-    private Animation<TextureRegion> animation;
+    // handle of the fire trap's clip in the AnimationRegistry
+    private int clip;
 
     /**
      * Constructs a new StaticMob with specified initial position.
      * <p>
-     * Initializes the static mob at the given coordinates (x, y) and sets up its sprite sheet and animation.
-     * The sprite sheet for the mob is loaded from assets folder. ("fire_trap.png").
+     * Initializes the static mob at the given coordinates (x, y) and looks up its animation in the shared
+     * {@link AnimationRegistry} ("fire-trap").
      * </p>
      *
      * @param x The x-coordinate where the static mob will be positioned.
@@ -35,30 +30,7 @@ public class StaticMob extends Mob {
      */
     public StaticMob(float x, float y) {
         super(x, y, 16, 8);
-        spriteSheet = new Texture(Gdx.files.internal("fire_trap.png"));
-        animation = loadAnimation();
-    }
-
-    /**
-     * Loads the animation for the static mob.
-     * <p>
-     * This method creates an animation from the sprite sheet by dividing it into frames.
-     * The number of frames and their dimensions are specified.
-     * This animation is used to visually represent the mob in the game.
-     * </p>
-     *
-     * @return An {@link Animation} object representing the mob's animation.
-     */
-    private Animation<TextureRegion> loadAnimation() {
-        int FRAMES = 14;
-        int FRAME_WIDTH = 32;
-        int FRAME_HEIGHT = 41;
-
-        Array<TextureRegion> frames = new Array<>(TextureRegion.class);
-        for (int col = 0; col < FRAMES; col++) {
-            frames.add(new TextureRegion(spriteSheet, col * FRAME_WIDTH, 0, FRAME_WIDTH, FRAME_HEIGHT));
-        }
-        return new Animation<>(.2f, frames);
+        clip = AnimationRegistry.get().getHandle(AnimationRegistry.FIRE_TRAP);
     }
 
     /**
@@ -75,61 +47,37 @@ private Animation<TextureRegion> loadAnimation() {
     public void update(float delta) {
         super.stateTime += delta;
         // to check which frame is currently rendered. change the size of hitbox according to it. (fire released at frame 9)
-        int frameIndex = (int) ((super.stateTime % (.2f * 14)) / .2f);
+        int frameIndex = AnimationRegistry.get().getFrameIndex(clip, super.stateTime);
         if (frameIndex == 9) {
             super.getHitBox().height = 12;
         } else {
             super.getHitBox().height = 0;
         }
-        super.getHitBox().setLocation((int) super.getX(), (int) super.getY());
+        super.getHitBox().setPosition(super.getX(), super.getY());
     }
 
-    /**
-     * Draws the static mob on the screen.
-     * <p>
-     * This method renders the mob's current animation frame at its position using the provided batch.
-     * It is called within the game's render loop to ensure the static mob is displayed.
-     * </p>
-     *
-     * @param batch The batch used for drawing the texture, part of the rendering system.
-     *
-     * @see Batch
-     */
     @Override
-    public void draw(Batch batch) {
-        batch.draw(
-                animation.getKeyFrame(super.stateTime, true),
-                super.getX(),
-                super.getY(),
-                16,
-                16);
-    }
-
-    public Texture getSpriteSheet() {
-        return spriteSheet;
-    }
-
-    public void setSpriteSheet(Texture spriteSheet) {
-        this.spriteSheet = spriteSheet;
+    public TextureRegion getFrame() {
+        return AnimationRegistry.get().getFrame(clip, super.stateTime);
     }
 
-    public Animation<TextureRegion> getAnimation() {
-        return animation;
+    public int getClip() {
+        return clip;
     }
 
-    public void setAnimation(Animation<TextureRegion> animation) {
-        this.animation = animation;
+    public void setClip(int clip) {
+        this.clip = clip;
     }
 
     /**
      * Disposes of the resources used by the StaticMob.
      * <p>
-     * This method disposes the sprite sheet texture when the static mob is no longer in use.
+     * The animation belongs to the shared {@link AnimationRegistry}, so the static mob holds nothing to dispose.
      * </p>
      */
     @Override
     public void dispose() {
-        spriteSheet.dispose();
+        // the animation is shared by all entities and released with the SpriteAtlas
     }
 }
 
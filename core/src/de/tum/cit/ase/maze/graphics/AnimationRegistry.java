@@ -0,0 +1,169 @@
+package de.tum.cit.ase.maze.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * The animation clips of the game, shared by all entities.
+ * <p>
+ * The clips are defined in {@code animations.json} in the assets: each clip names a sprite sheet of the
+ * {@link SpriteAtlas}, the position of its first frame in the sheet, the size and number of its frames, which lie
+ * next to each other in a row, and how long each frame is shown. The file is read and the frames are cut out of the
+ * sheets once, the first time the registry is used, which has to be on the render thread.
+ * </p>
+ * <p>
+ * An entity looks up the handles of its clips by name when it is created, and from then on only refers to them by
+ * handle: {@link #getFrame(int, float)} is an array access and the frame computation of the clip. All entities
+ * share the frames of a clip, so creating an entity doesn't create any regions or animations.
+ * </p>
+ */
+public final class AnimationRegistry {
+
+    /**
+     * The name of the clip definitions in the assets.
+     */
+    public static final String FILE_NAME = "animations.json";
+
+    public static final String PLAYER_WALK_DOWN = "player-walk-down";
+    public static final String PLAYER_WALK_RIGHT = "player-walk-right";
+    public static final String PLAYER_WALK_UP = "player-walk-up";
+    public static final String PLAYER_WALK_LEFT = "player-walk-left";
+    public static final String PLAYER_ATTACK_DOWN = "player-attack-down";
+    public static final String PLAYER_ATTACK_UP = "player-attack-up";
+    public static final String PLAYER_ATTACK_RIGHT = "player-attack-right";
+    public static final String PLAYER_ATTACK_LEFT = "player-attack-left";
+    public static final String MOB_WALK = "mob-walk";
+    public static final String FIRE_TRAP = "fire-trap";
+    public static final String KEY = "key";
+    public static final String HEART = "heart";
+    public static final String APPLE = "apple";
+
+    private static AnimationRegistry instance;
+
+    // the clips by handle, and the handles by name
+    private final Array<Animation<TextureRegion>> clips;
+    private final ObjectIntMap<String> handles;
+
+    /**
+     * Builds the clips of a definition file.
+     *
+     * @param definitions The parsed definition file.
+     * @param atlas       The sprite atlas holding the sheets of the clips.
+     */
+    private AnimationRegistry(JsonValue definitions, SpriteAtlas atlas) {
+        clips = new Array<>();
+        handles = new ObjectIntMap<>();
+        JsonValue clipList = definitions.get("clips");
+        if (clipList == null) {
+            throw new IllegalStateException(FILE_NAME + " has no clips");
+        }
+        for (JsonValue clip = clipList.child; clip != null; clip = clip.next) {
+            String name = clip.getString("name");
+            if (handles.containsKey(name)) {
+                throw new IllegalStateException("Animation clip " + name + " is defined twice in " + FILE_NAME);
+            }
+            TextureRegion sheet = atlas.getSheet(clip.getString("sheet"));
+            int x = clip.getInt("x", 0);
+            int y = clip.getInt("y", 0);
+            int frameWidth = clip.getInt("frameWidth");
+            int frameHeight = clip.getInt("frameHeight");
+            int frameCount = clip.getInt("frames");
+
+            TextureRegion[] frames = new TextureRegion[frameCount];
+            for (int frame = 0; frame < frameCount; frame++) {
+                frames[frame] = new TextureRegion(sheet, x + frame * frameWidth, y, frameWidth, frameHeight);
+            }
+            Animation<TextureRegion> animation = new Animation<>(clip.getFloat("frameDuration"), frames);
+            animation.setPlayMode(Animation.PlayMode.LOOP);
+
+            handles.put(name, clips.size);
+            clips.add(animation);
+        }
+    }
+
+    /**
+     * Returns the shared registry, loading the clips on the first call.
+     *
+     * @return The animation registry.
+     */
+    public static AnimationRegistry get() {
+        if (instance == null) {
+            FileHandle file = Gdx.files.internal(FILE_NAME);
+            instance = new AnimationRegistry(new JsonReader().parse(file), SpriteAtlas.get());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the handle of a clip, entities look it up once and keep it.
+     *
+     * @param name The name of the clip, one of the constants of this class.
+     * @return The handle of the clip.
+     */
+    public int getHandle(String name) {
+        int handle = handles.get(name, -1);
+        if (handle < 0) {
+            throw new IllegalArgumentException("Unknown animation clip: " + name);
+        }
+        return handle;
+    }
+
+    /**
+     * Returns a clip, the frames of which are shared by all its users.
+     *
+     * @param handle The handle of the clip.
+     * @return The clip, which loops.
+     */
+    public Animation<TextureRegion> getClip(int handle) {
+        return clips.get(handle);
+    }
+
+    /**
+     * Returns the frame a looping clip shows at a given time.
+     *
+     * @param handle    The handle of the clip.
+     * @param stateTime The time since the clip started in seconds.
+     * @return The frame of the clip.
+     */
+    public TextureRegion getFrame(int handle, float stateTime) {
+        return clips.get(handle).getKeyFrame(stateTime);
+    }
+
+    /**
+     * Returns the index of the frame a looping clip shows at a given time.
+     *
+     * @param handle    The handle of the clip.
+     * @param stateTime The time since the clip started in seconds.
+     * @return The index of the frame, from 0 to the number of frames of the clip.
+     */
+    public int getFrameIndex(int handle, float stateTime) {
+        return clips.get(handle).getKeyFrameIndex(stateTime);
+    }
+
+    /**
+     * Returns the first frame of a clip, for example to show the entity in the HUD.
+     *
+     * @param handle The handle of the clip.
+     * @return The first frame of the clip.
+     */
+    public TextureRegion getFirstFrame(int handle) {
+        return clips.get(handle).getKeyFrames()[0];
+    }
+
+    public int getClipCount() {
+        return clips.size;
+    }
+
+    /**
+     * Forgets the shared registry, called when the {@link SpriteAtlas} its frames point into is released.
+     */
+    public static void disposeShared() {
+        instance = null;
+    }
+}
@@ -0,0 +1,310 @@
+package de.tum.cit.ase.maze.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Overlay on a HUD stage that shows what the frames of the game cost.
+ * <p>
+ * A frame is divided into phases by the screen: {@link #beginFrame()} starts it, {@link #endPhase(int)} closes each
+ * phase, and {@link #endFrame(int, int, int, int)} adds the counts only the screen knows, like the render calls of
+ * its batches and the number of entities. While the overlay is visible, a {@link GLProfiler} counts the OpenGL
+ * calls, draw calls and texture binds, and the draw calls are attributed to the phase they were made in.
+ * Times and allocations are averaged over half a second, the counts are those of the last frame.
+ * </p>
+ * <p>
+ * Allocations are the bytes allocated by the render thread, as reported by the JVM; on a JVM that can't report
+ * them, they are shown as unavailable. Garbage collections are counted over all threads. The overlay doesn't
+ * allocate anything itself once it is set up, its text is built in a reused buffer, so showing it doesn't change
+ * the numbers it shows. While it is hidden, the calls of the screen return right away and the profiler is off.
+ * </p>
+ */
+public class FrameStatsOverlay {
+
+    public static final int UPDATE = 0;
+    public static final int MAP = 1;
+    public static final int ENTITIES = 2;
+    public static final int HUD = 3;
+    private static final int PHASES = 4;
+    private static final String[] PHASE_NAMES = {"update", "map", "entities", "HUD"};
+
+    // seconds between two updates of the text
+    private static final float REFRESH_INTERVAL = .5f;
+
+    private final Label label;
+    private final GLProfiler profiler;
+    // null if the JVM can't report the bytes allocated by a thread
+    private final ThreadMXBean threads;
+    private final GarbageCollectorMXBean[] collectors;
+    private final StringBuilder text;
+
+    private boolean visible;
+
+    // the current frame
+    private long frameStart;
+    private long phaseStart;
+    private long allocatedAtStart;
+    private int drawCallsAtPhaseStart;
+
+    // sums over the frames since the last refresh
+    private final long[] phaseNanos;
+    private long frameNanos;
+    private long allocatedBytes;
+    private int frames;
+    private float sinceRefresh;
+    private long collectionsAtRefresh;
+    private long collectionMillisAtRefresh;
+
+    // counts of the last frame
+    private final int[] phaseDrawCalls;
+    private int glCalls;
+    private int drawCalls;
+    private int textureBindings;
+    private int shaderSwitches;
+    private int entityRenderCalls;
+    private int hudRenderCalls;
+    private int drawnEntities;
+    private int totalEntities;
+
+    /**
+     * Constructs a hidden FrameStatsOverlay and adds it to the top right corner of a stage.
+     *
+     * @param stage The HUD stage.
+     * @param skin  The skin whose default label style is used.
+     */
+    public FrameStatsOverlay(Stage stage, Skin skin) {
+        text = new StringBuilder(512);
+        label = new Label(text, skin);
+        label.setAlignment(Align.topLeft);
+        label.setVisible(false);
+
+        Table table = new Table();
+        table.setFillParent(true);
+        table.align(Align.topRight);
+        table.add(label).pad(10);
+        stage.addActor(table);
+
+        profiler = new GLProfiler(Gdx.graphics);
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof ThreadMXBean && ((ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            threads = (ThreadMXBean) threadBean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threads = null;
+        }
+        collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+        phaseNanos = new long[PHASES];
+        phaseDrawCalls = new int[PHASES];
+    }
+
+    /**
+     * Shows the overlay if it is hidden, or hides it.
+     */
+    public void toggle() {
+        visible = !visible;
+        label.setVisible(visible);
+        if (visible) {
+            profiler.enable();
+            startInterval();
+            collectionsAtRefresh = collectionCount();
+            collectionMillisAtRefresh = collectionMillis();
+            text.setLength(0);
+            text.append("collecting...");
+            label.setText(text);
+        } else {
+            profiler.disable();
+        }
+    }
+
+    /**
+     * Turns the profiler off while the screen of the overlay is hidden, so that it doesn't count the calls of other
+     * screens, and the profiler of another screen doesn't wrap the OpenGL calls that this one already wraps.
+     */
+    public void suspend() {
+        profiler.disable();
+    }
+
+    /**
+     * Turns the profiler back on when the screen of the overlay is shown again, if the overlay is visible.
+     * The averages start over, so the time the screen was hidden isn't part of them.
+     */
+    public void resume() {
+        if (visible) {
+            profiler.enable();
+            startInterval();
+        }
+    }
+
+    /**
+     * Starts a frame, must be called before anything of the frame is done.
+     */
+    public void beginFrame() {
+        if (!visible) {
+            return;
+        }
+        profiler.reset();
+        frameStart = System.nanoTime();
+        phaseStart = frameStart;
+        allocatedAtStart = allocatedBytes();
+        drawCallsAtPhaseStart = 0;
+    }
+
+    /**
+     * Ends a phase of the frame, the time and draw calls since the end of the previous phase are counted for it.
+     *
+     * @param phase One of {@link #UPDATE}, {@link #MAP}, {@link #ENTITIES} and {@link #HUD}.
+     */
+    public void endPhase(int phase) {
+        if (!visible) {
+            return;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase] += now - phaseStart;
+        phaseStart = now;
+        int calls = profiler.getDrawCalls();
+        phaseDrawCalls[phase] = calls - drawCallsAtPhaseStart;
+        drawCallsAtPhaseStart = calls;
+    }
+
+    /**
+     * Ends the frame, must be called after everything of the frame is done.
+     *
+     * @param entityRenderCalls The render calls of the batch that drew the entities.
+     * @param hudRenderCalls    The render calls of the batch that drew the HUD.
+     * @param drawnEntities     The number of entities that were drawn.
+     * @param totalEntities     The number of entities, including the ones culled for being out of view.
+     */
+    public void endFrame(int entityRenderCalls, int hudRenderCalls, int drawnEntities, int totalEntities) {
+        if (!visible) {
+            return;
+        }
+        frameNanos += System.nanoTime() - frameStart;
+        allocatedBytes += allocatedBytes() - allocatedAtStart;
+        frames++;
+
+        glCalls = profiler.getCalls();
+        drawCalls = profiler.getDrawCalls();
+        textureBindings = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+        this.entityRenderCalls = entityRenderCalls;
+        this.hudRenderCalls = hudRenderCalls;
+        this.drawnEntities = drawnEntities;
+        this.totalEntities = totalEntities;
+
+        sinceRefresh += Gdx.graphics.getDeltaTime();
+        if (sinceRefresh >= REFRESH_INTERVAL) {
+            refreshText();
+            startInterval();
+        }
+    }
+
+    /**
+     * Writes the averages of the interval and the counts of the last frame into the label.
+     */
+    private void refreshText() {
+        long collections = collectionCount();
+        long collectionMillis = collectionMillis();
+
+        text.setLength(0);
+        text.append("FPS ").append(Gdx.graphics.getFramesPerSecond()).append("   frame ");
+        appendMillis(frameNanos / frames);
+        text.append(" ms\n");
+        for (int phase = 0; phase < PHASES; phase++) {
+            text.append(PHASE_NAMES[phase]).append(' ');
+            appendMillis(phaseNanos[phase] / frames);
+            text.append(phase < PHASES - 1 ? "  " : " ms\n");
+        }
+        text.append("GL calls ").append(glCalls).append("   draw calls ").append(drawCalls).append(" (");
+        for (int phase = 0; phase < PHASES; phase++) {
+            text.append(PHASE_NAMES[phase]).append(' ').append(phaseDrawCalls[phase]);
+            text.append(phase < PHASES - 1 ? ", " : ")\n");
+        }
+        text.append("texture binds ").append(textureBindings).append("   shader switches ").append(shaderSwitches)
+                .append('\n');
+        text.append("batch render calls: entities ").append(entityRenderCalls).append(", HUD ").append(hudRenderCalls)
+                .append('\n');
+        text.append("entities drawn ").append(drawnEntities).append(" / ").append(totalEntities).append('\n');
+        text.append("allocated ");
+        if (threads != null) {
+            text.append(allocatedBytes / frames / 1024).append(" KB/frame");
+        } else {
+            text.append("n/a");
+        }
+        text.append("   GC ").append(collections - collectionsAtRefresh).append(" (")
+                .append(collectionMillis - collectionMillisAtRefresh).append(" ms)");
+        label.setText(text);
+
+        collectionsAtRefresh = collections;
+        collectionMillisAtRefresh = collectionMillis;
+    }
+
+    /**
+     * Clears the sums of the interval.
+     */
+    private void startInterval() {
+        for (int phase = 0; phase < PHASES; phase++) {
+            phaseNanos[phase] = 0;
+        }
+        frameNanos = 0;
+        allocatedBytes = 0;
+        frames = 0;
+        sinceRefresh = 0;
+    }
+
+    /**
+     * Appends a duration in milliseconds with two decimals, without the allocation of formatting a float.
+     */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        text.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            text.append('0');
+        }
+        text.append(fraction);
+    }
+
+    /**
+     * Returns the number of garbage collections since the JVM started, over all collectors.
+     */
+    private long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Returns the time spent in garbage collections since the JVM started in milliseconds, over all collectors.
+     */
+    private long collectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private long allocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public GLProfiler getProfiler() {
+        return profiler;
+    }
+}
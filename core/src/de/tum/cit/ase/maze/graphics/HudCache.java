@@ -0,0 +1,170 @@
+package de.tum.cit.ase.maze.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Draws a HUD stage into a texture once, and shows the texture until the HUD changes.
+ * <p>
+ * The HUD shows values that change a few times per game, like the lives of the player, but drawing its stage walks
+ * every actor and submits every icon each frame. Instead, the stage is drawn into a {@link FrameBuffer} of the size
+ * of the screen, and each frame only draws that buffer as a single quad. The stage is drawn again only after the
+ * HUD became dirty: when a value passed to {@link #setValue(int, int)} changed, when the screen was resized, or when
+ * {@link #invalidate()} was called. New HUD elements like timers or score counters report the value they show
+ * through {@link #setValue(int, int)} under a slot of their own, and don't add anything to the cost of a frame in
+ * which their value stays the same.
+ * </p>
+ * <p>
+ * The stage isn't acted upon, so actors with actions would only be seen moving if the HUD is invalidated each frame.
+ * The buffer holds premultiplied colors, so translucent actors look the same as when the stage is drawn directly.
+ * </p>
+ */
+public class HudCache implements Disposable {
+
+    private final Stage stage;
+    // the last value of every slot
+    private final IntIntMap values;
+
+    // null until the HUD is drawn for the first time
+    private FrameBuffer frameBuffer;
+    private boolean dirty;
+
+    // the number of times the stage was drawn into the buffer
+    private int redraws;
+
+    /**
+     * Constructs a HudCache for a stage, the stage is drawn into the buffer the first time the HUD is rendered.
+     *
+     * @param stage The HUD stage, drawn with its own batch and viewport.
+     */
+    public HudCache(Stage stage) {
+        this.stage = stage;
+        this.values = new IntIntMap();
+        this.dirty = true;
+    }
+
+    /**
+     * Sets the value an element of the HUD shows, the HUD is drawn again if it differs from the last value of the slot.
+     *
+     * @param slot  The slot of the element, chosen by the screen that owns the HUD.
+     * @param value The value the element shows, for example the number of lives, or 1 if the player has the key.
+     */
+    public void setValue(int slot, int value) {
+        if (!values.containsKey(slot) || values.get(slot, 0) != value) {
+            values.put(slot, value);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Lets the HUD be drawn again in the next call to {@link #render()}, after the stage was changed.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Updates the stage's viewport to a new size of the screen, the HUD is drawn again at the new size.
+     *
+     * @param width  The new width of the screen.
+     * @param height The new height of the screen.
+     */
+    public void resize(int width, int height) {
+        stage.getViewport().update(width, height, true);
+        dirty = true;
+    }
+
+    /**
+     * Draws the HUD onto the screen, drawing the stage into the buffer first if the HUD is dirty.
+     * <p>
+     * Must be called on the render thread, outside of any batch.
+     * </p>
+     */
+    public void render() {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if (width <= 0 || height <= 0) {
+            // minimized, there is nothing to draw into
+            return;
+        }
+        if (dirty) {
+            redraw(width, height);
+        }
+
+        Viewport viewport = stage.getViewport();
+        viewport.apply();
+        Texture texture = frameBuffer.getColorBufferTexture();
+        Batch batch = stage.getBatch();
+        batch.setProjectionMatrix(stage.getCamera().combined);
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        // the buffer's rows are stored bottom up
+        batch.draw(texture, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight(),
+                0, 0, texture.getWidth(), texture.getHeight(), false, true);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    /**
+     * Draws the stage into the buffer, creating the buffer first if the screen's size changed.
+     */
+    private void redraw(int width, int height) {
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            if (frameBuffer != null) {
+                frameBuffer.dispose();
+            }
+            frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            // the buffer is drawn pixel for pixel
+            frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        }
+
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        Batch batch = stage.getBatch();
+        // keep the alpha of the buffer right, its colors end up multiplied by their alpha
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        stage.draw();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        frameBuffer.end();
+
+        dirty = false;
+        redraws++;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Returns how often the stage was drawn into the buffer, which is once per change of the HUD.
+     *
+     * @return The number of redraws since the HudCache was created.
+     */
+    public int getRedraws() {
+        return redraws;
+    }
+
+    /**
+     * Releases the buffer, the stage is left to its owner.
+     */
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+        }
+    }
+}
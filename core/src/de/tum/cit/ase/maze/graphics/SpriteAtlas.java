@@ -0,0 +1,153 @@
+package de.tum.cit.ase.maze.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+
+/**
+ * The sprite sheets of the game, shared by all entities and the tile set.
+ * <p>
+ * The sheets are packed into a single texture atlas by {@code gradlew :tools:packAtlas}, which runs before the
+ * desktop game is started or packaged. Every entity draws regions of the same texture then, so the
+ * {@code SpriteBatch} doesn't have to flush between entities, and a level with hundreds of mobs holds the mob
+ * sheet in video memory only once. The atlas is loaded the first time it is used, which has to be on the render
+ * thread.
+ * </p>
+ * <p>
+ * If the atlas wasn't packed, for example when the game is started from an IDE, each sheet is loaded as a texture
+ * of its own instead. The sheets are still shared by all entities, only the draw calls aren't batched as well.
+ * </p>
+ */
+public final class SpriteAtlas {
+
+    /**
+     * The name of the atlas file in the assets, its pages are named after it.
+     */
+    public static final String ATLAS_NAME = "sprites";
+
+    public static final String CHARACTER = "character";
+    public static final String MOBS = "mobs";
+    public static final String FIRE_TRAP = "fire_trap";
+    public static final String HEART = "heart";
+    public static final String KEY = "key";
+    public static final String APPLE = "apple";
+    public static final String BASIC_TILES = "basictiles";
+    public static final String TILE_MAP = "tilemap_packed";
+
+    // the image file of every sheet in the assets, by the name of its region in the atlas
+    private static final OrderedMap<String, String> SHEET_FILES = new OrderedMap<>();
+
+    static {
+        SHEET_FILES.put(CHARACTER, "character.png");
+        SHEET_FILES.put(MOBS, "mobs.png");
+        SHEET_FILES.put(FIRE_TRAP, "fire_trap.png");
+        SHEET_FILES.put(HEART, "heart.png");
+        SHEET_FILES.put(KEY, "key.png");
+        SHEET_FILES.put(APPLE, "Apple.png");
+        SHEET_FILES.put(BASIC_TILES, "basictiles.png");
+        SHEET_FILES.put(TILE_MAP, "tilemap_packed.png");
+    }
+
+    private static SpriteAtlas instance;
+
+    // the packed atlas, or null if the sheets were loaded one by one
+    private final TextureAtlas atlas;
+    private final Array<Texture> textures;
+    private final ObjectMap<String, TextureRegion> sheets;
+
+    private SpriteAtlas() {
+        sheets = new ObjectMap<>();
+        textures = new Array<>();
+        FileHandle atlasFile = Gdx.files.internal(ATLAS_NAME + ".atlas");
+        if (atlasFile.exists()) {
+            atlas = new TextureAtlas(atlasFile);
+            for (String name : SHEET_FILES.keys()) {
+                TextureRegion region = atlas.findRegion(name);
+                if (region == null) {
+                    throw new IllegalStateException("Sprite sheet " + name + " is missing in " + atlasFile
+                            + ", pack it again with gradlew :tools:packAtlas");
+                }
+                sheets.put(name, region);
+            }
+        } else {
+            Gdx.app.log("SpriteAtlas", "No sprite atlas found, loading the sprite sheets one by one. "
+                    + "Run gradlew :tools:packAtlas to pack them.");
+            atlas = null;
+            for (ObjectMap.Entry<String, String> sheet : SHEET_FILES) {
+                Texture texture = new Texture(Gdx.files.internal(sheet.value));
+                textures.add(texture);
+                sheets.put(sheet.key, new TextureRegion(texture));
+            }
+        }
+    }
+
+    /**
+     * Returns the shared sprite atlas, loading it on the first call.
+     *
+     * @return The sprite atlas.
+     */
+    public static SpriteAtlas get() {
+        if (instance == null) {
+            instance = new SpriteAtlas();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the image files of the sprite sheets by the names of their regions, used to pack the atlas.
+     *
+     * @return The file names relative to the assets directory.
+     */
+    public static OrderedMap<String, String> getSheetFiles() {
+        return SHEET_FILES;
+    }
+
+    /**
+     * Returns a whole sprite sheet.
+     *
+     * @param name The name of the sheet, one of the constants of this class.
+     * @return The region of the sheet.
+     */
+    public TextureRegion getSheet(String name) {
+        TextureRegion sheet = sheets.get(name);
+        if (sheet == null) {
+            throw new IllegalArgumentException("Unknown sprite sheet: " + name);
+        }
+        return sheet;
+    }
+
+    /**
+     * Returns a part of a sprite sheet, like a single frame of an animation.
+     *
+     * @param name   The name of the sheet, one of the constants of this class.
+     * @param x      The x-coordinate of the part within the sheet, from the left edge.
+     * @param y      The y-coordinate of the part within the sheet, from the top edge.
+     * @param width  The width of the part.
+     * @param height The height of the part.
+     * @return A new region for the part.
+     */
+    public TextureRegion getRegion(String name, int x, int y, int width, int height) {
+        return new TextureRegion(getSheet(name), x, y, width, height);
+    }
+
+    /**
+     * Releases the textures of the shared atlas. It is loaded again if it is used afterwards.
+     */
+    public static void disposeShared() {
+        if (instance == null) {
+            return;
+        }
+        if (instance.atlas != null) {
+            instance.atlas.dispose();
+        }
+        for (Texture texture : instance.textures) {
+            texture.dispose();
+        }
+        instance = null;
+    }
+}
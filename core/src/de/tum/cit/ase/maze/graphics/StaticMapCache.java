@@ -0,0 +1,265 @@
+package de.tum.cit.ase.maze.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Draws the tile layers of a map from vertices that are built once, instead of submitting every visible tile again
+ * each frame like the {@code OrthogonalTiledMapRenderer}.
+ * <p>
+ * The map is split into square chunks of {@code chunkSize} tiles. The first time a chunk is seen by the camera,
+ * the tiles of all its layers are written into a {@link SpriteCache}, which keeps their vertices in video memory.
+ * From then on, drawing the chunk is a single draw call that touches none of its tiles on the CPU, so drawing a
+ * map that doesn't change costs a few calls per frame, however many tiles are visible. A chunk is built again
+ * only after {@link #invalidate(int, int)} reported that one of its tiles changed.
+ * </p>
+ * <p>
+ * The cache holds the vertices of {@code maxChunks} chunks. A sprite cache can't release single chunks, so once
+ * it is full, it is cleared and only the chunks in view are built again; chunks the camera moved away from are
+ * dropped this way. The cells of the maze are never flipped or rotated, so these cell flags are ignored.
+ * </p>
+ */
+public class StaticMapCache implements Disposable {
+
+    // cache id of a chunk that isn't built
+    private static final int NONE = -1;
+    // cache id of a built chunk without any tiles, which is never drawn
+    private static final int EMPTY = -2;
+
+    private final Array<TiledMapTileLayer> layers;
+    private final float tileWidth;
+    private final float tileHeight;
+    private final int chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+    private final int maxChunks;
+    // upper bound of the sprites of a chunk, a tile per layer
+    private final int spritesPerChunk;
+
+    private final SpriteCache cache;
+    // cache ids by chunk index
+    private final int[] cacheIds;
+    private final IntArray builtChunks;
+    private int usedSprites;
+
+    // chunks built and drawn in the last frame
+    private int builtInFrame;
+    private int drawnInFrame;
+
+    /**
+     * Constructs a StaticMapCache for the tile layers of a map. No chunk is built until it is drawn.
+     *
+     * @param map       The map, its tile layers are drawn in their order.
+     * @param chunkSize The width and height of a chunk in tiles.
+     * @param maxChunks The number of chunks whose vertices are kept at the same time.
+     */
+    public StaticMapCache(TiledMap map, int chunkSize, int maxChunks) {
+        this.layers = new Array<>();
+        int width = 0;
+        int height = 0;
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer) {
+                TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+                layers.add(tileLayer);
+                width = Math.max(width, tileLayer.getWidth());
+                height = Math.max(height, tileLayer.getHeight());
+            }
+        }
+        this.tileWidth = layers.isEmpty() ? 16 : layers.first().getTileWidth();
+        this.tileHeight = layers.isEmpty() ? 16 : layers.first().getTileHeight();
+        this.chunkSize = chunkSize;
+        this.chunksX = (width + chunkSize - 1) / chunkSize;
+        this.chunksY = (height + chunkSize - 1) / chunkSize;
+        this.maxChunks = maxChunks;
+        this.spritesPerChunk = chunkSize * chunkSize * Math.max(1, layers.size);
+
+        // without indices the cache isn't limited to 8191 sprites
+        this.cache = new SpriteCache(maxChunks * spritesPerChunk, false);
+        this.cacheIds = new int[chunksX * chunksY];
+        Arrays.fill(cacheIds, NONE);
+        this.builtChunks = new IntArray(maxChunks);
+    }
+
+    /**
+     * Draws the chunks seen by a camera, building the ones that aren't cached yet.
+     * <p>
+     * Must be called on the render thread, outside of any batch.
+     * </p>
+     *
+     * @param camera The camera, its position, viewport and zoom decide the visible chunks.
+     * @return {@code true} if the map was drawn, {@code false} if the camera sees more than {@code maxChunks}
+     *         chunks, in which case nothing was drawn and the map has to be drawn another way.
+     */
+    public boolean render(OrthographicCamera camera) {
+        builtInFrame = 0;
+        drawnInFrame = 0;
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        int fromX = Math.max(0, chunkOf(camera.position.x - width / 2, tileWidth));
+        int fromY = Math.max(0, chunkOf(camera.position.y - height / 2, tileHeight));
+        int toX = Math.min(chunksX - 1, chunkOf(camera.position.x + width / 2, tileWidth));
+        int toY = Math.min(chunksY - 1, chunkOf(camera.position.y + height / 2, tileHeight));
+        if (fromX > toX || fromY > toY) {
+            return true;
+        }
+        if ((toX - fromX + 1) * (toY - fromY + 1) > maxChunks) {
+            return false;
+        }
+
+        int missing = 0;
+        for (int chunkY = fromY; chunkY <= toY; chunkY++) {
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                if (cacheIds[chunkY * chunksX + chunkX] == NONE) {
+                    missing++;
+                }
+            }
+        }
+        if (usedSprites + missing * spritesPerChunk > maxChunks * spritesPerChunk) {
+            clear();
+        }
+        for (int chunkY = fromY; chunkY <= toY; chunkY++) {
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                int chunkIndex = chunkY * chunksX + chunkX;
+                if (cacheIds[chunkIndex] == NONE) {
+                    cacheIds[chunkIndex] = buildChunk(chunkX, chunkY);
+                    builtChunks.add(chunkIndex);
+                    builtInFrame++;
+                }
+            }
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        for (int chunkY = fromY; chunkY <= toY; chunkY++) {
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                int cacheId = cacheIds[chunkY * chunksX + chunkX];
+                if (cacheId != EMPTY) {
+                    cache.draw(cacheId);
+                    drawnInFrame++;
+                }
+            }
+        }
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        return true;
+    }
+
+    /**
+     * Writes the tiles of a chunk into the sprite cache, layer by layer.
+     *
+     * @return The cache id of the chunk, or {@link #EMPTY} if it has no tiles.
+     */
+    private int buildChunk(int chunkX, int chunkY) {
+        int startX = chunkX * chunkSize;
+        int startY = chunkY * chunkSize;
+        int sprites = 0;
+        cache.beginCache();
+        for (TiledMapTileLayer layer : layers) {
+            if (!layer.isVisible()) {
+                continue;
+            }
+            cache.setColor(1f, 1f, 1f, layer.getOpacity());
+            int endX = Math.min(layer.getWidth(), startX + chunkSize);
+            int endY = Math.min(layer.getHeight(), startY + chunkSize);
+            for (int y = startY; y < endY; y++) {
+                for (int x = startX; x < endX; x++) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                    TiledMapTile tile = cell == null ? null : cell.getTile();
+                    if (tile == null) {
+                        continue;
+                    }
+                    TextureRegion region = tile.getTextureRegion();
+                    cache.add(region, x * tileWidth + tile.getOffsetX(), y * tileHeight + tile.getOffsetY());
+                    sprites++;
+                }
+            }
+        }
+        int cacheId = cache.endCache();
+        usedSprites += sprites;
+        return sprites == 0 ? EMPTY : cacheId;
+    }
+
+    /**
+     * Marks the chunk containing a tile as changed, so that it is built again the next time it is drawn.
+     *
+     * @param tileX The x-coordinate of the tile.
+     * @param tileY The y-coordinate of the tile.
+     */
+    public void invalidate(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0 || tileX >= chunksX * chunkSize || tileY >= chunksY * chunkSize) {
+            return;
+        }
+        int chunkIndex = (tileY / chunkSize) * chunksX + tileX / chunkSize;
+        if (cacheIds[chunkIndex] != NONE) {
+            // the old vertices stay in the cache until it is cleared
+            cacheIds[chunkIndex] = NONE;
+            builtChunks.removeValue(chunkIndex);
+        }
+    }
+
+    /**
+     * Drops all built chunks, they are built again when they are drawn.
+     */
+    public void clear() {
+        cache.clear();
+        for (int i = 0; i < builtChunks.size; i++) {
+            cacheIds[builtChunks.get(i)] = NONE;
+        }
+        builtChunks.clear();
+        usedSprites = 0;
+    }
+
+    private int chunkOf(float coordinate, float tileSize) {
+        return (int) Math.floor(coordinate / tileSize) / chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    public int getBuiltChunkCount() {
+        return builtChunks.size;
+    }
+
+    /**
+     * Returns the number of chunks built in the last call to {@link #render(OrthographicCamera)}, which is zero
+     * while the camera stays over cached chunks.
+     *
+     * @return The number of chunks built in the last frame.
+     */
+    public int getBuiltInFrame() {
+        return builtInFrame;
+    }
+
+    /**
+     * Returns the number of draw calls of the last call to {@link #render(OrthographicCamera)}.
+     *
+     * @return The number of chunks drawn in the last frame.
+     */
+    public int getDrawnInFrame() {
+        return drawnInFrame;
+    }
+
+    @Override
+    public void dispose() {
+        cache.dispose();
+    }
+}
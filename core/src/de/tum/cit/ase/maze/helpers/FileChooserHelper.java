@@ -1,6 +1,7 @@
 package de.tum.cit.ase.maze.helpers;
 
 import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.maze.level.BinaryMapFormat;
 import games.spooky.gdx.nativefilechooser.NativeFileChooserConfiguration;
 
 /**
@@ -18,8 +19,8 @@ public class FileChooserHelper {
      * Creates and returns a configuration for a native file chooser specific to selecting map files.
      * <p>
      * This method sets up a {@link NativeFileChooserConfiguration} object for choosing map files.
-     * It specifies the directory to start in, sets a name filter to only display files with a
-     * '.properties' extension, and sets the title of the file chooser dialog. This configuration
+     * It specifies the directory to start in, sets a name filter to only display map files with a
+     * '.properties' or a compiled '.maze' extension, and sets the title of the file chooser dialog. This configuration
      * is intended to facilitate the user in selecting the correct map file for the game.
      * </p>
      *
@@ -28,7 +29,7 @@ public class FileChooserHelper {
     public static NativeFileChooserConfiguration mapChooserConfiguration() {
         NativeFileChooserConfiguration conf = new NativeFileChooserConfiguration();
         conf.directory = Gdx.files.internal("maps");
-        conf.nameFilter = (dir, name) -> name.endsWith(".properties");
+        conf.nameFilter = (dir, name) -> name.endsWith(".properties") || name.endsWith("." + BinaryMapFormat.EXTENSION);
         conf.title = "Choose Map";
         return conf;
     }
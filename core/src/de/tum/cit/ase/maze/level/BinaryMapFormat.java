@@ -0,0 +1,176 @@
+package de.tum.cit.ase.maze.level;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact binary map format ({@code .maze}) and its reader and writer.
+ * <p>
+ * The {@code .properties} maps are convenient to write by hand, but reading them means parsing a
+ * string for every single tile. The binary format stores the same level in the layout of
+ * {@link LevelData}, so loading it is a handful of bulk copies. All values are big-endian:
+ * </p>
+ * <pre>
+ *   int    magic ('MAZE')
+ *   int    version
+ *   int    width, height
+ *   int    spawnX, spawnY, keyX, keyY, speedBuffX, speedBuffY   (-1 if missing)
+ *   int    exitCount, trapCount, mobCount, heartCount
+ *   long[] wall bitset, ceil(width * height / 64) words, row-major
+ *   int[]  exits, traps, mobs, hearts as x, y pairs
+ * </pre>
+ */
+public final class BinaryMapFormat {
+
+    public static final String EXTENSION = "maze";
+
+    static final int MAGIC = 0x4D415A45;
+    static final int VERSION = 1;
+
+    private BinaryMapFormat() {
+    }
+
+    /**
+     * Checks whether the buffer starts with the magic number of the binary format.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer The buffer holding the map file.
+     * @return {@code true} if the buffer contains a binary map.
+     */
+    public static boolean isBinaryMap(ByteBuffer buffer) {
+        return buffer.remaining() >= 4 && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    /**
+     * Reads a level from a buffer holding a binary map.
+     * <p>
+     * The walls and object tables are copied straight out of the buffer, without any per-tile work.
+     * The buffer can be a heap buffer or a memory-mapped file.
+     * </p>
+     *
+     * @param buffer The buffer to read from, positioned at the start of the map.
+     * @return The level stored in the buffer.
+     * @throws IOException If the buffer doesn't contain a valid binary map.
+     */
+    public static LevelData read(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary maze map");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary map version " + version);
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (width < 0 || height < 0) {
+                throw new IOException("Invalid map size " + width + "x" + height);
+            }
+            int spawnX = buffer.getInt();
+            int spawnY = buffer.getInt();
+            int keyX = buffer.getInt();
+            int keyY = buffer.getInt();
+            int speedBuffX = buffer.getInt();
+            int speedBuffY = buffer.getInt();
+            int exitCount = buffer.getInt();
+            int trapCount = buffer.getInt();
+            int mobCount = buffer.getInt();
+            int heartCount = buffer.getInt();
+
+            // check the size against the file before allocating, a corrupt header may declare any size
+            long wallBytes = (((long) width * height + 63) >>> 6) * 8;
+            if (wallBytes > buffer.remaining()) {
+                throw new IOException("Truncated binary map: a " + width + "x" + height + " map needs " + wallBytes
+                        + " bytes of walls, but only " + buffer.remaining() + " bytes are left");
+            }
+            long[] walls = new long[LevelData.wordCount(width, height)];
+            buffer.asLongBuffer().get(walls);
+            buffer.position(buffer.position() + walls.length * 8);
+
+            ObjectTable exits = readTable(buffer, exitCount);
+            ObjectTable traps = readTable(buffer, trapCount);
+            ObjectTable mobs = readTable(buffer, mobCount);
+            ObjectTable hearts = readTable(buffer, heartCount);
+
+            return new LevelData(width, height, walls,
+                    spawnX, spawnY, keyX, keyY, speedBuffX, speedBuffY,
+                    exits, traps, mobs, hearts);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated binary map", e);
+        }
+    }
+
+    private static ObjectTable readTable(ByteBuffer buffer, int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Invalid object count " + count);
+        }
+        if (count == 0) {
+            return ObjectTable.EMPTY;
+        }
+        if (count * 8L > buffer.remaining()) {
+            throw new IOException("Truncated binary map: " + count + " objects need " + count * 8L
+                    + " bytes, but only " + buffer.remaining() + " bytes are left");
+        }
+        int[] coordinates = new int[count * 2];
+        buffer.asIntBuffer().get(coordinates);
+        buffer.position(buffer.position() + coordinates.length * 4);
+        return new ObjectTable(coordinates);
+    }
+
+    /**
+     * Writes a level in the binary map format.
+     * <p>
+     * The stream is not closed by this method.
+     * </p>
+     *
+     * @param level  The level to write.
+     * @param output The stream to write the map to.
+     * @throws IOException If writing to the stream fails.
+     */
+    public static void write(LevelData level, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(level.getWidth());
+        out.writeInt(level.getHeight());
+        out.writeInt(level.getSpawnX());
+        out.writeInt(level.getSpawnY());
+        out.writeInt(level.getKeyX());
+        out.writeInt(level.getKeyY());
+        out.writeInt(level.getSpeedBuffX());
+        out.writeInt(level.getSpeedBuffY());
+        out.writeInt(level.getExits().size());
+        out.writeInt(level.getTraps().size());
+        out.writeInt(level.getMobs().size());
+        out.writeInt(level.getHearts().size());
+
+        long[] walls = level.getWallWords();
+        int words = LevelData.wordCount(level.getWidth(), level.getHeight());
+        long bits = (long) level.getWidth() * level.getHeight();
+        for (int i = 0; i < words; i++) {
+            long word = walls[i];
+            // clear the unused bits of the last word, they may hold walls outside the map
+            if (i == words - 1 && (bits & 63) != 0) {
+                word &= (1L << bits) - 1;
+            }
+            out.writeLong(word);
+        }
+
+        writeTable(out, level.getExits());
+        writeTable(out, level.getTraps());
+        writeTable(out, level.getMobs());
+        writeTable(out, level.getHearts());
+        out.flush();
+    }
+
+    private static void writeTable(DataOutputStream out, ObjectTable table) throws IOException {
+        for (int coordinate : table.getCoordinates()) {
+            out.writeInt(coordinate);
+        }
+    }
+}
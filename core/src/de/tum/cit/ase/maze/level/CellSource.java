@@ -0,0 +1,23 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+/**
+ * Provides the cell of a tile layer at a given tile position.
+ * <p>
+ * A cell source is the backing store of a {@link SparseTileLayer}. It is asked for a cell every time the layer
+ * is read, so lookups should be cheap, and implementations should return shared cells instead of creating a new
+ * cell per call.
+ * </p>
+ */
+public interface CellSource {
+
+    /**
+     * Returns the cell at the given tile position.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @return The cell at the position, or {@code null} if the tile is empty.
+     */
+    TiledMapTileLayer.Cell getCell(int x, int y);
+}
@@ -0,0 +1,279 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Collects the entries of a text map and assembles them into a {@link LevelData}.
+ * <p>
+ * Text maps list their tiles in any order and may declare 'Width' and 'Height' anywhere in the file,
+ * or not at all. The assembler therefore keeps the walls in a bitset that grows while entries arrive,
+ * and only fixes the size of the level in {@link #build()}. Each entry is handled exactly once, so a map
+ * is assembled in a single pass over its entries.
+ * </p>
+ * <p>
+ * The bitsets never grow beyond the declared size, or {@link LevelData#MAX_SIZE} while no size is declared.
+ * Entries outside the declared size are dropped as they arrive, and coordinates of {@code MAX_SIZE} or more
+ * are ignored, so a corrupt coordinate can't make the assembler allocate the heap away. Once both 'Width' and
+ * 'Height' are known, the bitsets are sized to them right away.
+ * </p>
+ * <p>
+ * Like the keys of a properties file, a tile that is listed more than once takes the value of its last entry.
+ * A second bitset marks the tiles that have an entry, and only an entry for a marked tile looks up and removes
+ * what the earlier entry placed.
+ * </p>
+ */
+final class LevelAssembler implements MapEntrySink {
+
+    private int declaredWidth;
+    private int declaredHeight;
+
+    // largest coordinates seen so far, used when the map doesn't declare its size
+    private int maxX;
+    private int maxY;
+
+    // the wall bitset grows in both directions, so it has its own row width
+    private int capacityWidth;
+    private int capacityHeight;
+    private long[] walls;
+    // the tiles that have an entry, with the same layout as the walls
+    private long[] placed;
+
+    private int spawnX;
+    private int spawnY;
+    private int keyX;
+    private int keyY;
+    private int speedBuffX;
+    private int speedBuffY;
+
+    private final IntArray exits;
+    private final IntArray traps;
+    private final IntArray mobs;
+    private final IntArray hearts;
+
+    LevelAssembler() {
+        declaredWidth = LevelData.NONE;
+        declaredHeight = LevelData.NONE;
+        maxX = -1;
+        maxY = -1;
+        capacityWidth = 64;
+        capacityHeight = 64;
+        walls = new long[LevelData.wordCount(capacityWidth, capacityHeight)];
+        placed = new long[walls.length];
+        spawnX = spawnY = LevelData.NONE;
+        keyX = keyY = LevelData.NONE;
+        speedBuffX = speedBuffY = LevelData.NONE;
+        exits = new IntArray();
+        traps = new IntArray();
+        mobs = new IntArray();
+        hearts = new IntArray();
+    }
+
+    @Override
+    public void setDeclaredWidth(int width) {
+        declaredWidth = Math.min(width, LevelData.MAX_SIZE);
+        fitDeclaredSize();
+    }
+
+    @Override
+    public void setDeclaredHeight(int height) {
+        declaredHeight = Math.min(height, LevelData.MAX_SIZE);
+        fitDeclaredSize();
+    }
+
+    /**
+     * Sizes the bitsets to the declared size once both 'Width' and 'Height' are known, so that they don't have
+     * to grow anymore. Walls that were placed outside the declared size are dropped, like in {@link #build()}.
+     */
+    private void fitDeclaredSize() {
+        if (declaredWidth == LevelData.NONE || declaredHeight == LevelData.NONE) {
+            return;
+        }
+        if (declaredWidth != capacityWidth || declaredHeight != capacityHeight) {
+            walls = repack(walls, capacityWidth, capacityHeight, declaredWidth, declaredHeight);
+            placed = repack(placed, capacityWidth, capacityHeight, declaredWidth, declaredHeight);
+            capacityWidth = declaredWidth;
+            capacityHeight = declaredHeight;
+        }
+    }
+
+    /**
+     * Places one map entry.
+     * <p>
+     * Walls go into the wall bitset, every other value is appended to its object table or replaces
+     * the single spawn, key or speed buff position. If the tile already had an entry, that entry is removed
+     * first. Unknown values only remove an earlier entry. Negative coordinates, coordinates outside the declared
+     * size and coordinates of {@link LevelData#MAX_SIZE} or more are ignored.
+     * </p>
+     *
+     * @param x     The x-coordinate of the entry in map tiles.
+     * @param y     The y-coordinate of the entry in map tiles.
+     * @param value The object type, one of the value constants of {@link LevelData}.
+     */
+    @Override
+    public void place(int x, int y, int value) {
+        if (x < 0 || y < 0 || x >= widthLimit() || y >= heightLimit()) {
+            return;
+        }
+        if (x > maxX) maxX = x;
+        if (y > maxY) maxY = y;
+
+        ensureCapacity(x, y);
+        long index = (long) y * capacityWidth + x;
+        int word = (int) (index >>> 6);
+        long bit = 1L << index;
+        if ((placed[word] & bit) != 0) {
+            // the last entry of a tile wins
+            remove(x, y, word, bit);
+        } else {
+            placed[word] |= bit;
+        }
+
+        switch (value) {
+            case LevelData.WALL:
+                walls[word] |= bit;
+                break;
+            case LevelData.SPAWN:
+                spawnX = x;
+                spawnY = y;
+                break;
+            case LevelData.EXIT:
+                exits.add(x, y);
+                break;
+            case LevelData.TRAP:
+                traps.add(x, y);
+                break;
+            case LevelData.DYNAMIC_MOB:
+                mobs.add(x, y);
+                break;
+            case LevelData.KEY:
+                keyX = x;
+                keyY = y;
+                break;
+            case LevelData.HEART:
+                hearts.add(x, y);
+                break;
+            case LevelData.SPEED_BUFF:
+                speedBuffX = x;
+                speedBuffY = y;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Removes whatever an earlier entry placed on a tile.
+     */
+    private void remove(int x, int y, int word, long bit) {
+        walls[word] &= ~bit;
+        if (spawnX == x && spawnY == y) {
+            spawnX = spawnY = LevelData.NONE;
+        }
+        if (keyX == x && keyY == y) {
+            keyX = keyY = LevelData.NONE;
+        }
+        if (speedBuffX == x && speedBuffY == y) {
+            speedBuffX = speedBuffY = LevelData.NONE;
+        }
+        removePosition(exits, x, y);
+        removePosition(traps, x, y);
+        removePosition(mobs, x, y);
+        removePosition(hearts, x, y);
+    }
+
+    /**
+     * Removes a position from an object table, which holds every position at most once.
+     */
+    private static void removePosition(IntArray positions, int x, int y) {
+        for (int i = 0; i < positions.size; i += 2) {
+            if (positions.get(i) == x && positions.get(i + 1) == y) {
+                positions.removeRange(i, i + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grows the wall bitset and the bitset of placed tiles so that they cover the given tile.
+     * <p>
+     * The capacity is doubled in the direction that overflowed, which keeps the number of
+     * re-packs logarithmic in the size of the map, but never beyond the limit of that direction.
+     * The tile must lie within the limits, see {@link #place(int, int, int)}.
+     * </p>
+     */
+    private void ensureCapacity(int x, int y) {
+        if (x < capacityWidth && y < capacityHeight) {
+            return;
+        }
+        int newWidth = capacityWidth;
+        int newHeight = capacityHeight;
+        while (x >= newWidth) newWidth = (int) Math.min(newWidth * 2L, widthLimit());
+        while (y >= newHeight) newHeight = (int) Math.min(newHeight * 2L, heightLimit());
+        walls = repack(walls, capacityWidth, capacityHeight, newWidth, newHeight);
+        placed = repack(placed, capacityWidth, capacityHeight, newWidth, newHeight);
+        capacityWidth = newWidth;
+        capacityHeight = newHeight;
+    }
+
+    private int widthLimit() {
+        return declaredWidth != LevelData.NONE ? declaredWidth : LevelData.MAX_SIZE;
+    }
+
+    private int heightLimit() {
+        return declaredHeight != LevelData.NONE ? declaredHeight : LevelData.MAX_SIZE;
+    }
+
+    /**
+     * Copies the bits of a row-major bitset into a bitset with a different row width.
+     * Rows and columns that don't fit into the target size are dropped.
+     */
+    private static long[] repack(long[] source, int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        long[] target = new long[LevelData.wordCount(targetWidth, targetHeight)];
+        int rows = Math.min(sourceHeight, targetHeight);
+        int columns = Math.min(sourceWidth, targetWidth);
+        for (int y = 0; y < rows; y++) {
+            long sourceRow = (long) y * sourceWidth;
+            long targetRow = (long) y * targetWidth;
+            for (int x = 0; x < columns; x++) {
+                long sourceIndex = sourceRow + x;
+                if ((source[(int) (sourceIndex >>> 6)] & (1L << sourceIndex)) != 0) {
+                    long targetIndex = targetRow + x;
+                    target[(int) (targetIndex >>> 6)] |= 1L << targetIndex;
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Builds the immutable level from the collected entries.
+     * <p>
+     * If the map declared both its 'Width' and 'Height', these are used as the size of the level, otherwise
+     * the size is derived from the largest coordinates of the map. Walls outside of the final size are dropped.
+     * </p>
+     *
+     * @return The assembled {@link LevelData}.
+     */
+    LevelData build() {
+        int width;
+        int height;
+        if (declaredWidth != LevelData.NONE && declaredHeight != LevelData.NONE) {
+            width = declaredWidth;
+            height = declaredHeight;
+        } else {
+            width = maxX + 1;
+            height = maxY + 1;
+        }
+
+        long[] levelWalls = (width == capacityWidth && height <= capacityHeight)
+                ? walls
+                : repack(walls, capacityWidth, capacityHeight, width, height);
+
+        return new LevelData(width, height, levelWalls,
+                spawnX, spawnY, keyX, keyY, speedBuffX, speedBuffY,
+                new ObjectTable(exits.toArray()),
+                new ObjectTable(traps.toArray()),
+                new ObjectTable(mobs.toArray()),
+                new ObjectTable(hearts.toArray()));
+    }
+}
@@ -0,0 +1,154 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Cache of loaded levels, so that a map is only read and parsed once as long as it doesn't change.
+ * <p>
+ * Levels are cached by the path of their map file and the file's modification time: if the file was modified
+ * since it was cached, the cached level is dropped and the map is loaded again. Since {@link LevelData} is
+ * immutable, a cached level can be shared by any number of game screens and threads.
+ * </p>
+ * <p>
+ * The cache is bounded by the estimated memory footprint of its levels. When a level is added and the
+ * bound is exceeded, the least recently used levels are evicted. Levels larger than the whole bound are
+ * loaded but not cached.
+ * </p>
+ */
+public final class LevelCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final long maxBytes;
+
+    // in access order, so the first entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries;
+    private long cachedBytes;
+
+    /**
+     * Constructs a LevelCache with the default memory bound.
+     */
+    public LevelCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a LevelCache.
+     *
+     * @param maxBytes The estimated number of bytes the cached levels may take up in total.
+     */
+    public LevelCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, .75f, true);
+    }
+
+    /**
+     * Returns the level of a map, loading it with {@link LevelLoader#load(FileHandle)} if it isn't cached
+     * or the map file was modified since it was cached.
+     * <p>
+     * The map is loaded without holding the cache's lock, so {@link #peek(FileHandle)} doesn't wait for it.
+     * </p>
+     *
+     * @param mapLocation The file handle pointing to the map's file.
+     * @return The level of the map.
+     * @throws IOException If the map can't be read or is malformed.
+     */
+    public LevelData get(FileHandle mapLocation) throws IOException {
+        String key = keyOf(mapLocation);
+        long lastModified = mapLocation.lastModified();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.lastModified == lastModified) {
+                return entry.level;
+            }
+        }
+
+        LevelData level = LevelLoader.load(mapLocation);
+        long size = estimateSize(level);
+        if (size > maxBytes) {
+            return level;
+        }
+        synchronized (this) {
+            Entry replaced = entries.put(key, new Entry(level, lastModified, size));
+            if (replaced != null) {
+                cachedBytes -= replaced.size;
+            }
+            cachedBytes += size;
+            evict();
+        }
+        return level;
+    }
+
+    /**
+     * Returns the cached level of a map without loading it.
+     *
+     * @param mapLocation The file handle pointing to the map's file.
+     * @return The cached level, or {@code null} if the map isn't cached or was modified since it was cached.
+     */
+    public synchronized LevelData peek(FileHandle mapLocation) {
+        Entry entry = entries.get(keyOf(mapLocation));
+        if (entry == null || entry.lastModified != mapLocation.lastModified()) {
+            return null;
+        }
+        return entry.level;
+    }
+
+    /**
+     * Removes all levels from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cachedBytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (cachedBytes > maxBytes && iterator.hasNext()) {
+            cachedBytes -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    private static String keyOf(FileHandle mapLocation) {
+        return mapLocation.type() + ":" + mapLocation.path();
+    }
+
+    /**
+     * Estimates the number of bytes a level takes up on the heap: its wall bitset and object tables.
+     */
+    private static long estimateSize(LevelData level) {
+        long objects = level.getExits().size() + level.getTraps().size() + level.getMobs().size() + level.getHearts().size();
+        return 128 + level.getWallWords().length * 8L + objects * 8L;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * A cached level with the modification time of its map file and its estimated size.
+     */
+    private static final class Entry {
+        final LevelData level;
+        final long lastModified;
+        final long size;
+
+        Entry(LevelData level, long lastModified, long size) {
+            this.level = level;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
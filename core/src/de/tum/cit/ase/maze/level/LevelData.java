@@ -0,0 +1,211 @@
+package de.tum.cit.ase.maze.level;
+
+/**
+ * Immutable, parsed representation of a maze level.
+ * <p>
+ * A LevelData is what every map loader produces, no matter which file format the level was stored in.
+ * The walls are kept as a packed bitset with one bit per tile (row-major, bit {@code y * width + x}),
+ * while the few objects of a level are kept in typed {@link ObjectTable}s. The player spawn, the key and
+ * the speed buff only exist once per level, so they are stored as plain coordinates, with {@link #NONE}
+ * marking an object that is missing from the map.
+ * </p>
+ * <p>
+ * All coordinates are given in map tiles, without the border tiles that the game screen adds around the maze.
+ * </p>
+ */
+public final class LevelData {
+
+    // values used for each object type in the map files
+    public static final int WALL = 0;
+    public static final int SPAWN = 1;
+    public static final int EXIT = 2;
+    public static final int TRAP = 3;
+    public static final int DYNAMIC_MOB = 4;
+    public static final int KEY = 5;
+    public static final int HEART = 6;
+    public static final int SPEED_BUFF = 7;
+
+    // marks a single object (spawn, key, speed buff) that is not present in the map
+    public static final int NONE = -1;
+
+    // largest width and height of a text map in tiles, larger coordinates are ignored
+    public static final int MAX_SIZE = 1 << 14;
+
+    private final int width;
+    private final int height;
+
+    private final long[] walls;
+
+    private final int spawnX;
+    private final int spawnY;
+    private final int keyX;
+    private final int keyY;
+    private final int speedBuffX;
+    private final int speedBuffY;
+
+    private final ObjectTable exits;
+    private final ObjectTable traps;
+    private final ObjectTable mobs;
+    private final ObjectTable hearts;
+
+    /**
+     * Constructs a LevelData from already parsed parts.
+     * <p>
+     * This constructor is only used by the loaders of this package. The wall bitset must hold
+     * at least {@code width * height} bits and is taken over without copying.
+     * </p>
+     */
+    LevelData(int width, int height, long[] walls,
+              int spawnX, int spawnY, int keyX, int keyY, int speedBuffX, int speedBuffY,
+              ObjectTable exits, ObjectTable traps, ObjectTable mobs, ObjectTable hearts) {
+        this.width = width;
+        this.height = height;
+        this.walls = walls;
+        this.spawnX = spawnX;
+        this.spawnY = spawnY;
+        this.keyX = keyX;
+        this.keyY = keyY;
+        this.speedBuffX = speedBuffX;
+        this.speedBuffY = speedBuffY;
+        this.exits = exits;
+        this.traps = traps;
+        this.mobs = mobs;
+        this.hearts = hearts;
+    }
+
+    /**
+     * Returns the number of {@code long} words needed to store a wall bitset of the given size.
+     *
+     * @param width  The width of the map in tiles.
+     * @param height The height of the map in tiles.
+     * @return The length of the wall bitset array.
+     */
+    static int wordCount(int width, int height) {
+        return (int) (((long) width * height + 63) >>> 6);
+    }
+
+    /**
+     * Checks whether the tile at the given map coordinates is a wall.
+     * <p>
+     * Coordinates outside the map are never walls.
+     * </p>
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @return {@code true} if the tile is a wall, {@code false} otherwise.
+     */
+    public boolean isWall(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        long index = (long) y * width + x;
+        return (walls[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Finds the next wall tile at or after the given bit index.
+     * <p>
+     * This works like {@link java.util.BitSet#nextSetBit(int)} and skips 64 empty tiles at a time,
+     * which makes walking over all walls of a sparse map cheap. The tile coordinates of the returned
+     * index are {@code index % width} and {@code index / width}.
+     * </p>
+     *
+     * @param fromIndex The bit index to start searching from.
+     * @return The bit index of the next wall, or {@code -1} if there is none.
+     */
+    public long nextWall(long fromIndex) {
+        long size = (long) width * height;
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int wordIndex = (int) (fromIndex >>> 6);
+        long word = walls[wordIndex] & (-1L << fromIndex);
+        while (true) {
+            if (word != 0) {
+                long index = ((long) wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return index < size ? index : -1;
+            }
+            if (++wordIndex == walls.length) {
+                return -1;
+            }
+            word = walls[wordIndex];
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean hasSpawn() {
+        return spawnX != NONE;
+    }
+
+    public int getSpawnX() {
+        return spawnX;
+    }
+
+    public int getSpawnY() {
+        return spawnY;
+    }
+
+    public boolean hasKey() {
+        return keyX != NONE;
+    }
+
+    public int getKeyX() {
+        return keyX;
+    }
+
+    public int getKeyY() {
+        return keyY;
+    }
+
+    public boolean hasSpeedBuff() {
+        return speedBuffX != NONE;
+    }
+
+    public int getSpeedBuffX() {
+        return speedBuffX;
+    }
+
+    public int getSpeedBuffY() {
+        return speedBuffY;
+    }
+
+    public ObjectTable getExits() {
+        return exits;
+    }
+
+    public ObjectTable getTraps() {
+        return traps;
+    }
+
+    public ObjectTable getMobs() {
+        return mobs;
+    }
+
+    public ObjectTable getHearts() {
+        return hearts;
+    }
+
+    /**
+     * Returns a copy of the wall bitset, one bit per tile in row-major order (bit {@code y * width + x}).
+     * <p>
+     * This is meant for structures derived from the walls of a level, like collision grids, which may
+     * modify their copy without affecting the level.
+     * </p>
+     *
+     * @return A copy of the packed wall bits.
+     */
+    public long[] copyWallWords() {
+        return walls.clone();
+    }
+
+    long[] getWallWords() {
+        return walls;
+    }
+}
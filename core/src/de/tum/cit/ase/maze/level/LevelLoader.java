@@ -0,0 +1,150 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Entry point for loading maze levels from map files.
+ * <p>
+ * Two map formats are supported: the hand-written {@code .properties} maps, where every key {@code x,y}
+ * holds the object type of a tile, and the compiled binary {@code .maze} maps described in
+ * {@link BinaryMapFormat}. Both are turned into the same immutable {@link LevelData}.
+ * </p>
+ * <p>
+ * Map files of at least {@link #MAPPED_LOAD_THRESHOLD} bytes are memory-mapped instead of being read
+ * through a stream, see {@link #loadMapped(File)}.
+ * </p>
+ */
+public final class LevelLoader {
+
+    // map files from this size on are memory-mapped instead of read through a stream
+    public static final long MAPPED_LOAD_THRESHOLD = 4L << 20;
+
+    // size of the windows a large text map is mapped in
+    private static final long MAPPED_WINDOW_SIZE = 1L << 30;
+
+    // size of the buffer that smaller text maps are streamed through
+    private static final int STREAM_CHUNK_SIZE = 1 << 16;
+
+    private LevelLoader() {
+    }
+
+    /**
+     * Loads a level from a map file, choosing the reader by the size and extension of the file.
+     *
+     * @param mapLocation The file handle pointing to the map file.
+     * @return The loaded level.
+     * @throws IOException If the file can't be read or is not a valid map.
+     */
+    public static LevelData load(FileHandle mapLocation) throws IOException {
+        if (mapLocation.type() != Files.FileType.Classpath && mapLocation.length() >= MAPPED_LOAD_THRESHOLD) {
+            return loadMapped(mapLocation.file());
+        }
+        if (BinaryMapFormat.EXTENSION.equals(mapLocation.extension())) {
+            return BinaryMapFormat.read(ByteBuffer.wrap(mapLocation.readBytes()));
+        }
+        return loadProperties(mapLocation);
+    }
+
+    /**
+     * Returns a level without any tiles, used in place of a map that couldn't be loaded.
+     *
+     * @return An empty level.
+     */
+    public static LevelData emptyLevel() {
+        return new LevelAssembler().build();
+    }
+
+    /**
+     * Loads a level from a {@code .properties} map.
+     * <p>
+     * The file is streamed through a fixed-size byte buffer into a {@link MapTextParser}, which turns
+     * every {@code x,y=value} line into primitive ints without creating any strings. The bounds of the map
+     * and all tiles are collected by a {@link LevelAssembler} in the same pass, so the file is parsed once.
+     * </p>
+     *
+     * @param mapLocation The file handle pointing to the properties file.
+     * @return The loaded level.
+     * @throws IOException If the file can't be read.
+     */
+    public static LevelData loadProperties(FileHandle mapLocation) throws IOException {
+        LevelAssembler assembler = new LevelAssembler();
+        streamProperties(mapLocation, assembler);
+        return assembler.build();
+    }
+
+    /**
+     * Streams the entries of a {@code .properties} map into a sink, see {@link #loadProperties(FileHandle)}.
+     *
+     * @param mapLocation The file handle pointing to the properties file.
+     * @param sink        The sink that receives the entries of the map.
+     * @throws IOException If the file can't be read.
+     */
+    static void streamProperties(FileHandle mapLocation, MapEntrySink sink) throws IOException {
+        MapTextParser parser = new MapTextParser(sink);
+        byte[] chunk = new byte[STREAM_CHUNK_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        try (InputStream input = mapLocation.read()) {
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                buffer.limit(read).position(0);
+                parser.feed(buffer);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Could not read map " + mapLocation.path(), e);
+        }
+        parser.finish();
+    }
+
+    /**
+     * Loads a level by memory-mapping the map file.
+     * <p>
+     * The file is mapped read-only with {@link FileChannel#map} and the tiles are parsed directly out of
+     * the mapped pages: binary maps are copied in bulk by {@link BinaryMapFormat}, text maps are scanned
+     * byte by byte by a {@link MapTextParser} straight into the wall bitset and object tables. Unlike the
+     * stream path, the file content is never copied onto the heap, which keeps the peak heap usage of
+     * very large maps down to the size of the resulting {@link LevelData}.
+     * </p>
+     * <p>
+     * Text maps larger than the mapping window are mapped and parsed window by window.
+     * </p>
+     *
+     * @param file The map file, either a text map or a binary map.
+     * @return The loaded level.
+     * @throws IOException If the file can't be mapped or is not a valid map.
+     */
+    public static LevelData loadMapped(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAPPED_WINDOW_SIZE));
+            if (BinaryMapFormat.isBinaryMap(window)) {
+                if (size > MAPPED_WINDOW_SIZE) {
+                    throw new IOException("Binary map too large: " + file);
+                }
+                return BinaryMapFormat.read(window);
+            }
+
+            LevelAssembler assembler = new LevelAssembler();
+            MapTextParser parser = new MapTextParser(assembler);
+            long offset = 0;
+            while (true) {
+                parser.feed(window);
+                offset += window.capacity();
+                if (offset >= size) {
+                    break;
+                }
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(size - offset, MAPPED_WINDOW_SIZE));
+            }
+            parser.finish();
+            return assembler.build();
+        }
+    }
+}
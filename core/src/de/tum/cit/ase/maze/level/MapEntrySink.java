@@ -0,0 +1,35 @@
+package de.tum.cit.ase.maze.level;
+
+/**
+ * Receives the entries of a text map from a {@link MapTextParser}.
+ * <p>
+ * Entries are handed over in the order they appear in the map. Implementations are the
+ * {@link LevelAssembler}, which builds the level, and the {@link MapValidator}, which checks the raw
+ * entries before they are merged into a level.
+ * </p>
+ */
+interface MapEntrySink {
+
+    /**
+     * Called for a 'Width' line of the map.
+     *
+     * @param width The declared width of the map in tiles.
+     */
+    void setDeclaredWidth(int width);
+
+    /**
+     * Called for a 'Height' line of the map.
+     *
+     * @param height The declared height of the map in tiles.
+     */
+    void setDeclaredHeight(int height);
+
+    /**
+     * Called for an {@code x,y=value} line of the map.
+     *
+     * @param x     The x-coordinate of the entry in map tiles.
+     * @param y     The y-coordinate of the entry in map tiles.
+     * @param value The object type of the entry.
+     */
+    void place(int x, int y, int value);
+}
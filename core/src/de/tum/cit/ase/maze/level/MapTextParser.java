@@ -0,0 +1,235 @@
+package de.tum.cit.ase.maze.level;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte-level parser for the {@code x,y=value} text maps.
+ * <p>
+ * The parser reads the map straight from raw bytes into primitive ints and hands every entry to a
+ * {@link MapEntrySink}, usually a {@link LevelAssembler}, without creating a String per key or value. It is a
+ * small state machine that keeps its state between calls to {@link #feed(ByteBuffer)}, so a map can be fed in
+ * chunks of any size (the buffer of a stream or the windows of a memory-mapped file) and lines may span chunk
+ * boundaries.
+ * </p>
+ * <p>
+ * The accepted syntax is the subset of the properties format that maps use: {@code #} and {@code !}
+ * comments, blank lines, keys {@code x,y}, 'Width' and 'Height', {@code =}, {@code :} or whitespace as
+ * separator and non-negative decimal values. Lines that don't fit this syntax are skipped.
+ * </p>
+ */
+final class MapTextParser {
+
+    // parser states
+    private static final int LINE_START = 0;
+    private static final int KEY_X = 1;
+    private static final int KEY_Y = 2;
+    private static final int NAME = 3;
+    private static final int SEPARATOR = 4;
+    private static final int VALUE_START = 5;
+    private static final int VALUE = 6;
+    private static final int VALUE_END = 7;
+    private static final int SKIP_LINE = 8;
+
+    // kinds of keys
+    private static final int COORDINATE = 0;
+    private static final int WIDTH = 1;
+    private static final int HEIGHT = 2;
+    private static final int UNKNOWN = 3;
+
+    // numbers above this limit would overflow with the next digit
+    private static final int NUMBER_LIMIT = (Integer.MAX_VALUE - 9) / 10;
+
+    private static final byte[] WIDTH_NAME = {'W', 'i', 'd', 't', 'h'};
+    private static final byte[] HEIGHT_NAME = {'H', 'e', 'i', 'g', 'h', 't'};
+
+    private final MapEntrySink sink;
+
+    private int state;
+    private int keyKind;
+    private int keyX;
+    private int keyY;
+    private int value;
+    private boolean hasDigits;
+
+    private final byte[] name;
+    private int nameLength;
+
+    MapTextParser(MapEntrySink sink) {
+        this.sink = sink;
+        this.state = LINE_START;
+        this.name = new byte[HEIGHT_NAME.length];
+    }
+
+    /**
+     * Parses all remaining bytes of the buffer.
+     * <p>
+     * An entry is only handed to the sink once its line is complete, so the last line of a chunk is
+     * kept pending until more bytes arrive or {@link #finish()} is called.
+     * </p>
+     *
+     * @param buffer The bytes to parse. Its position is moved to its limit.
+     */
+    void feed(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            int b = buffer.get();
+            if (b == '\n' || b == '\r') {
+                endLine();
+                continue;
+            }
+            switch (state) {
+                case LINE_START:
+                    if (isBlank(b)) {
+                        break;
+                    }
+                    if (b == '#' || b == '!') {
+                        state = SKIP_LINE;
+                    } else if (isDigit(b)) {
+                        keyX = b - '0';
+                        state = KEY_X;
+                    } else {
+                        nameLength = 0;
+                        appendName(b);
+                        state = NAME;
+                    }
+                    break;
+                case KEY_X:
+                    if (isDigit(b)) {
+                        keyX = appendDigit(keyX, b);
+                    } else if (b == ',') {
+                        keyY = 0;
+                        hasDigits = false;
+                        state = KEY_Y;
+                    } else {
+                        state = SKIP_LINE;
+                    }
+                    break;
+                case KEY_Y:
+                    if (isDigit(b)) {
+                        keyY = appendDigit(keyY, b);
+                        hasDigits = true;
+                    } else if (hasDigits && isKeyEnd(b)) {
+                        keyKind = COORDINATE;
+                        state = isBlank(b) ? SEPARATOR : VALUE_START;
+                    } else {
+                        state = SKIP_LINE;
+                    }
+                    break;
+                case NAME:
+                    if (isKeyEnd(b)) {
+                        keyKind = matchName();
+                        state = keyKind == UNKNOWN ? SKIP_LINE : isBlank(b) ? SEPARATOR : VALUE_START;
+                    } else {
+                        appendName(b);
+                    }
+                    break;
+                case SEPARATOR:
+                    // whitespace between key and separator; whitespace alone is a separator as well
+                    if (b == '=' || b == ':') {
+                        state = VALUE_START;
+                    } else if (isDigit(b)) {
+                        value = b - '0';
+                        state = VALUE;
+                    } else if (!isBlank(b)) {
+                        state = SKIP_LINE;
+                    }
+                    break;
+                case VALUE_START:
+                    if (isDigit(b)) {
+                        value = b - '0';
+                        state = VALUE;
+                    } else if (!isBlank(b)) {
+                        state = SKIP_LINE;
+                    }
+                    break;
+                case VALUE:
+                    if (isDigit(b)) {
+                        value = appendDigit(value, b);
+                    } else {
+                        state = isBlank(b) ? VALUE_END : SKIP_LINE;
+                    }
+                    break;
+                case VALUE_END:
+                    if (!isBlank(b)) {
+                        state = SKIP_LINE;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Completes the last line of the map, which may not end with a line break.
+     */
+    void finish() {
+        endLine();
+    }
+
+    private void endLine() {
+        if (state == VALUE || state == VALUE_END) {
+            switch (keyKind) {
+                case COORDINATE:
+                    sink.place(keyX, keyY, value);
+                    break;
+                case WIDTH:
+                    sink.setDeclaredWidth(value);
+                    break;
+                case HEIGHT:
+                    sink.setDeclaredHeight(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        state = LINE_START;
+    }
+
+    /**
+     * Appends a decimal digit to a number, switching to {@code SKIP_LINE} if the number gets too large.
+     */
+    private int appendDigit(int number, int digit) {
+        if (number > NUMBER_LIMIT) {
+            state = SKIP_LINE;
+            return number;
+        }
+        return number * 10 + (digit - '0');
+    }
+
+    private void appendName(int b) {
+        if (nameLength < name.length) {
+            name[nameLength] = (byte) b;
+        }
+        nameLength++;
+    }
+
+    private int matchName() {
+        if (matches(WIDTH_NAME)) return WIDTH;
+        if (matches(HEIGHT_NAME)) return HEIGHT;
+        return UNKNOWN;
+    }
+
+    private boolean matches(byte[] expected) {
+        if (nameLength != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < nameLength; i++) {
+            if (name[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(int b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(int b) {
+        return b == ' ' || b == '\t' || b == '\f';
+    }
+
+    private static boolean isKeyEnd(int b) {
+        return b == '=' || b == ':' || isBlank(b);
+    }
+}
@@ -0,0 +1,201 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks {@code .properties} maps for mistakes that the game would silently work around.
+ * <p>
+ * The {@link LevelAssembler} merges the entries of a map into a level: a second spawn replaces the first,
+ * and entries outside the declared 'Width' and 'Height' are dropped. The validator sees the raw entries
+ * instead, while the same parse builds the level, so a map is read only once for validating and compiling it.
+ * A map is valid if it has
+ * <ul>
+ *     <li>exactly one spawn ({@code 1}),</li>
+ *     <li>at least one exit ({@code 2}),</li>
+ *     <li>a key ({@code 5}),</li>
+ *     <li>no entries outside its declared 'Width' and 'Height', or beyond {@link LevelData#MAX_SIZE},</li>
+ *     <li>a key that can be reached from the spawn, and an exit that can be reached from the key.</li>
+ * </ul>
+ * The reachability is checked with a {@link Reachability} analysis, which is part of the report.
+ * </p>
+ */
+public final class MapValidator {
+
+    // number of out-of-bounds entries that are listed in a problem message
+    private static final int LISTED_ENTRIES = 5;
+
+    private MapValidator() {
+    }
+
+    /**
+     * Parses and validates a {@code .properties} map.
+     *
+     * @param mapLocation The file handle pointing to the properties file.
+     * @return The report with the found problems and the parsed level.
+     * @throws IOException If the file can't be read.
+     */
+    public static Report validate(FileHandle mapLocation) throws IOException {
+        Checks checks = new Checks(new LevelAssembler());
+        LevelLoader.streamProperties(mapLocation, checks);
+        return checks.report();
+    }
+
+    /**
+     * The result of validating a map: the problems found and the level that was parsed along the way.
+     */
+    public static final class Report {
+
+        private final LevelData level;
+        private final Reachability reachability;
+        private final List<String> problems;
+
+        Report(LevelData level, Reachability reachability, List<String> problems) {
+            this.level = level;
+            this.reachability = reachability;
+            this.problems = Collections.unmodifiableList(problems);
+        }
+
+        public boolean isValid() {
+            return problems.isEmpty();
+        }
+
+        public LevelData getLevel() {
+            return level;
+        }
+
+        public Reachability getReachability() {
+            return reachability;
+        }
+
+        public List<String> getProblems() {
+            return problems;
+        }
+    }
+
+    /**
+     * Counts the raw entries of a map and passes them on to the assembler.
+     * <p>
+     * 'Width' and 'Height' may be declared anywhere in a map, so entries that arrive before the size is
+     * known are kept aside and checked against the size at the end.
+     * </p>
+     */
+    private static final class Checks implements MapEntrySink {
+
+        private final LevelAssembler assembler;
+
+        private int declaredWidth;
+        private int declaredHeight;
+
+        private int spawns;
+        private int exits;
+        private int keys;
+
+        // entries that were placed while the size wasn't declared yet, as x,y pairs
+        private final IntArray unchecked;
+        private final IntArray outOfBounds;
+
+        Checks(LevelAssembler assembler) {
+            this.assembler = assembler;
+            this.declaredWidth = LevelData.NONE;
+            this.declaredHeight = LevelData.NONE;
+            this.unchecked = new IntArray();
+            this.outOfBounds = new IntArray();
+        }
+
+        @Override
+        public void setDeclaredWidth(int width) {
+            declaredWidth = width;
+            assembler.setDeclaredWidth(width);
+        }
+
+        @Override
+        public void setDeclaredHeight(int height) {
+            declaredHeight = height;
+            assembler.setDeclaredHeight(height);
+        }
+
+        @Override
+        public void place(int x, int y, int value) {
+            switch (value) {
+                case LevelData.SPAWN:
+                    spawns++;
+                    break;
+                case LevelData.EXIT:
+                    exits++;
+                    break;
+                case LevelData.KEY:
+                    keys++;
+                    break;
+                default:
+                    break;
+            }
+
+            if (isOutOfBounds(x, y)) {
+                outOfBounds.add(x, y);
+            } else if (declaredWidth == LevelData.NONE || declaredHeight == LevelData.NONE) {
+                unchecked.add(x, y);
+            }
+            assembler.place(x, y, value);
+        }
+
+        private boolean isOutOfBounds(int x, int y) {
+            return x >= LevelData.MAX_SIZE || y >= LevelData.MAX_SIZE
+                    || (declaredWidth != LevelData.NONE && x >= declaredWidth)
+                    || (declaredHeight != LevelData.NONE && y >= declaredHeight);
+        }
+
+        Report report() {
+            for (int i = 0; i < unchecked.size; i += 2) {
+                if (isOutOfBounds(unchecked.get(i), unchecked.get(i + 1))) {
+                    outOfBounds.add(unchecked.get(i), unchecked.get(i + 1));
+                }
+            }
+
+            List<String> problems = new ArrayList<>();
+            if (spawns != 1) {
+                problems.add("expected exactly one spawn (1), found " + spawns);
+            }
+            if (exits == 0) {
+                problems.add("expected at least one exit (2), found none");
+            }
+            if (keys == 0) {
+                problems.add("expected a key (5), found none");
+            }
+            if (outOfBounds.size > 0) {
+                problems.add(describeOutOfBounds());
+            }
+
+            LevelData level = assembler.build();
+            Reachability reachability = Reachability.analyze(level);
+            if (spawns > 0 && keys > 0 && reachability.getSpawnToKey() == Reachability.UNREACHABLE) {
+                problems.add("the key can't be reached from the spawn");
+            }
+            if (keys > 0 && exits > 0 && reachability.getKeyToExit() == Reachability.UNREACHABLE) {
+                problems.add("no exit can be reached from the key");
+            }
+            return new Report(level, reachability, problems);
+        }
+
+        private String describeOutOfBounds() {
+            int entries = outOfBounds.size / 2;
+            StringBuilder message = new StringBuilder();
+            message.append(entries).append(entries == 1 ? " entry" : " entries")
+                    .append(" outside the declared size ")
+                    .append(declaredWidth == LevelData.NONE ? "?" : String.valueOf(declaredWidth)).append('x')
+                    .append(declaredHeight == LevelData.NONE ? "?" : String.valueOf(declaredHeight)).append(':');
+            for (int i = 0; i < Math.min(entries, LISTED_ENTRIES); i++) {
+                message.append(' ').append(outOfBounds.get(2 * i)).append(',').append(outOfBounds.get(2 * i + 1));
+            }
+            if (entries > LISTED_ENTRIES) {
+                message.append(" ...");
+            }
+            return message.toString();
+        }
+    }
+}
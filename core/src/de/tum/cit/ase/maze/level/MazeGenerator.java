@@ -0,0 +1,304 @@
+package de.tum.cit.ase.maze.level;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates random mazes directly as {@link LevelData}, without going through a map file.
+ * <p>
+ * The maze is carved on a grid of cells: cell {@code (cx, cy)} is the floor tile {@code (2cx+1, 2cy+1)}, and the
+ * tiles between two cells are walls unless a passage was carved between them. Passages are carved by a recursive
+ * backtracker (a randomized depth-first search), which produces a perfect maze: every cell is reachable from every
+ * other cell on exactly one path.
+ * </p>
+ * <p>
+ * To generate large mazes on all cores, the cell grid is split into square tiles of {@code TILE_CELLS} cells.
+ * Every tile is carved independently on its own random stream, and the tiles are then stitched together by
+ * opening one passage across each edge of a random spanning tree over the tiles, which keeps the whole maze
+ * perfect. All random streams are derived from the seed in a fixed order, so the same seed and size always give
+ * the same maze, no matter how many threads take part.
+ * </p>
+ * <p>
+ * The spawn is placed on the left border and the exit on the right border of the maze, both next to a cell.
+ * The key, the speed buff, hearts, traps and mobs are placed on distinct cells, never on the cell next to
+ * the spawn. Every generated maze has at least one heart.
+ * </p>
+ */
+public final class MazeGenerator {
+
+    // smallest maze with more than one cell
+    public static final int MIN_SIZE = 5;
+
+    // width and height of the independently carved tiles, in cells
+    private static final int TILE_CELLS = 128;
+
+    // one object of a kind per this many cells
+    private static final int CELLS_PER_TRAP = 48;
+    private static final int CELLS_PER_MOB = 64;
+    private static final int CELLS_PER_HEART = 256;
+
+    // cell flags
+    private static final byte OPEN_EAST = 1;
+    private static final byte OPEN_NORTH = 2;
+    private static final byte VISITED = 4;
+    private static final byte OCCUPIED = 8;
+
+    // number of wall words built per task when the wall bitset is filled in parallel
+    private static final int WORDS_PER_TASK = 4096;
+
+    private MazeGenerator() {
+    }
+
+    /**
+     * Generates a maze.
+     * <p>
+     * Since cells and walls alternate, mazes always have an odd size; even sizes are rounded down.
+     * </p>
+     *
+     * @param seed   The seed of the maze.
+     * @param width  The width of the maze in tiles, at least {@link #MIN_SIZE}.
+     * @param height The height of the maze in tiles, at least {@link #MIN_SIZE}.
+     * @return The generated level.
+     * @throws IllegalArgumentException If the maze is smaller than {@link #MIN_SIZE}.
+     */
+    public static LevelData generate(long seed, int width, int height) {
+        if (width < MIN_SIZE || height < MIN_SIZE) {
+            throw new IllegalArgumentException("Maze must be at least " + MIN_SIZE + "x" + MIN_SIZE + ": " + width + "x" + height);
+        }
+        int cellsX = (width - 1) / 2;
+        int cellsY = (height - 1) / 2;
+        width = cellsX * 2 + 1;
+        height = cellsY * 2 + 1;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int tilesX = (cellsX + TILE_CELLS - 1) / TILE_CELLS;
+        int tilesY = (cellsY + TILE_CELLS - 1) / TILE_CELLS;
+        SplittableRandom[] tileRandoms = new SplittableRandom[tilesX * tilesY];
+        for (int i = 0; i < tileRandoms.length; i++) {
+            tileRandoms[i] = random.split();
+        }
+
+        byte[] cells = new byte[cellsX * cellsY];
+        IntStream.range(0, tileRandoms.length).parallel().forEach(tile -> {
+            int tileX = tile % tilesX;
+            int tileY = tile / tilesX;
+            carveTile(cells, cellsX, tileX * TILE_CELLS, tileY * TILE_CELLS,
+                    Math.min(cellsX, (tileX + 1) * TILE_CELLS), Math.min(cellsY, (tileY + 1) * TILE_CELLS),
+                    tileRandoms[tile]);
+        });
+        stitchTiles(cells, cellsX, cellsY, tilesX, tilesY, random);
+
+        return placeObjects(cells, cellsX, cellsY, buildWalls(cells, cellsX, width, height), random);
+    }
+
+    /**
+     * Carves a perfect maze into the cells of one tile with an iterative recursive backtracker.
+     * Only cells of the tile are written, so tiles can be carved concurrently.
+     */
+    private static void carveTile(byte[] cells, int cellsX, int startX, int startY, int endX, int endY, SplittableRandom random) {
+        int tileWidth = endX - startX;
+        int[] stack = new int[tileWidth * (endY - startY)];
+        int[] neighbours = new int[4];
+
+        int start = (startY + random.nextInt(endY - startY)) * cellsX + startX + random.nextInt(tileWidth);
+        cells[start] |= VISITED;
+        stack[0] = start;
+        int size = 1;
+        while (size > 0) {
+            int cell = stack[size - 1];
+            int x = cell % cellsX;
+            int y = cell / cellsX;
+
+            int count = 0;
+            if (x > startX && (cells[cell - 1] & VISITED) == 0) neighbours[count++] = cell - 1;
+            if (x < endX - 1 && (cells[cell + 1] & VISITED) == 0) neighbours[count++] = cell + 1;
+            if (y > startY && (cells[cell - cellsX] & VISITED) == 0) neighbours[count++] = cell - cellsX;
+            if (y < endY - 1 && (cells[cell + cellsX] & VISITED) == 0) neighbours[count++] = cell + cellsX;
+            if (count == 0) {
+                size--;
+                continue;
+            }
+
+            int next = neighbours[random.nextInt(count)];
+            openPassage(cells, cellsX, cell, next);
+            cells[next] |= VISITED;
+            stack[size++] = next;
+        }
+    }
+
+    /**
+     * Connects the carved tiles by opening one passage across every edge of a random spanning tree over the tiles.
+     */
+    private static void stitchTiles(byte[] cells, int cellsX, int cellsY, int tilesX, int tilesY, SplittableRandom random) {
+        int tileCount = tilesX * tilesY;
+        if (tileCount == 1) {
+            return;
+        }
+        boolean[] connected = new boolean[tileCount];
+        int[] stack = new int[tileCount];
+        int[] neighbours = new int[4];
+
+        connected[0] = true;
+        int size = 1;
+        while (size > 0) {
+            int tile = stack[size - 1];
+            int tileX = tile % tilesX;
+            int tileY = tile / tilesX;
+
+            int count = 0;
+            if (tileX > 0 && !connected[tile - 1]) neighbours[count++] = tile - 1;
+            if (tileX < tilesX - 1 && !connected[tile + 1]) neighbours[count++] = tile + 1;
+            if (tileY > 0 && !connected[tile - tilesX]) neighbours[count++] = tile - tilesX;
+            if (tileY < tilesY - 1 && !connected[tile + tilesX]) neighbours[count++] = tile + tilesX;
+            if (count == 0) {
+                size--;
+                continue;
+            }
+
+            int next = neighbours[random.nextInt(count)];
+            int nextX = next % tilesX;
+            int nextY = next / tilesX;
+            if (nextY == tileY) {
+                // the tiles share a vertical edge, open a passage at a random row of it
+                int borderX = Math.max(tileX, nextX) * TILE_CELLS;
+                int rows = Math.min(cellsY, (tileY + 1) * TILE_CELLS) - tileY * TILE_CELLS;
+                int y = tileY * TILE_CELLS + random.nextInt(rows);
+                openPassage(cells, cellsX, y * cellsX + borderX - 1, y * cellsX + borderX);
+            } else {
+                // the tiles share a horizontal edge, open a passage at a random column of it
+                int borderY = Math.max(tileY, nextY) * TILE_CELLS;
+                int columns = Math.min(cellsX, (tileX + 1) * TILE_CELLS) - tileX * TILE_CELLS;
+                int x = tileX * TILE_CELLS + random.nextInt(columns);
+                openPassage(cells, cellsX, (borderY - 1) * cellsX + x, borderY * cellsX + x);
+            }
+            connected[next] = true;
+            stack[size++] = next;
+        }
+    }
+
+    /**
+     * Opens the passage between two neighbouring cells. The passage is stored on the western or southern cell.
+     */
+    private static void openPassage(byte[] cells, int cellsX, int cell, int neighbour) {
+        int low = Math.min(cell, neighbour);
+        cells[low] |= Math.abs(cell - neighbour) == 1 ? OPEN_EAST : OPEN_NORTH;
+    }
+
+    /**
+     * Builds the row-major wall bitset of the maze from the carved cells.
+     * Disjoint ranges of words are filled in parallel.
+     */
+    private static long[] buildWalls(byte[] cells, int cellsX, int width, int height) {
+        long tiles = (long) width * height;
+        long[] walls = new long[LevelData.wordCount(width, height)];
+        int tasks = (walls.length + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            int endWord = Math.min(walls.length, (task + 1) * WORDS_PER_TASK);
+            long index = (long) task * WORDS_PER_TASK * 64;
+            int x = (int) (index % width);
+            int y = (int) (index / width);
+            for (int word = task * WORDS_PER_TASK; word < endWord; word++) {
+                long bits = 0;
+                for (int bit = 0; bit < 64 && index < tiles; bit++, index++) {
+                    if (isWall(cells, cellsX, width, height, x, y)) {
+                        bits |= 1L << bit;
+                    }
+                    if (++x == width) {
+                        x = 0;
+                        y++;
+                    }
+                }
+                walls[word] = bits;
+            }
+        });
+        return walls;
+    }
+
+    private static boolean isWall(byte[] cells, int cellsX, int width, int height, int x, int y) {
+        boolean oddX = (x & 1) == 1;
+        boolean oddY = (y & 1) == 1;
+        if (oddX && oddY) {
+            return false;
+        }
+        if (oddY) {
+            // between the cell to the west and the cell to the east
+            return x == 0 || x == width - 1 || (cells[(y >> 1) * cellsX + (x >> 1) - 1] & OPEN_EAST) == 0;
+        }
+        if (oddX) {
+            // between the cell to the south and the cell to the north
+            return y == 0 || y == height - 1 || (cells[((y >> 1) - 1) * cellsX + (x >> 1)] & OPEN_NORTH) == 0;
+        }
+        return true;
+    }
+
+    /**
+     * Places the spawn, the exit and all objects and assembles the level.
+     */
+    private static LevelData placeObjects(byte[] cells, int cellsX, int cellsY, long[] walls, SplittableRandom random) {
+        int width = cellsX * 2 + 1;
+        int height = cellsY * 2 + 1;
+
+        // spawn and exit replace a border wall next to a cell on the left and the right border
+        int spawnCellY = random.nextInt(cellsY);
+        int spawnY = spawnCellY * 2 + 1;
+        int exitY = random.nextInt(cellsY) * 2 + 1;
+        clearWall(walls, (long) spawnY * width);
+        clearWall(walls, (long) exitY * width + width - 1);
+        cells[spawnCellY * cellsX] |= OCCUPIED;
+
+        // the key and the speed buff take two cells, leave the rest of the free cells for the other objects
+        int freeCells = cellsX * cellsY - 3;
+        int hearts = Math.min(freeCells, Math.max(1, cellsX * cellsY / CELLS_PER_HEART));
+        int traps = Math.min(freeCells - hearts, cellsX * cellsY / CELLS_PER_TRAP);
+        int mobs = Math.min(freeCells - hearts - traps, cellsX * cellsY / CELLS_PER_MOB);
+
+        int key = occupyRandomCell(cells, random);
+        int speedBuff = occupyRandomCell(cells, random);
+        return new LevelData(width, height, walls,
+                0, spawnY,
+                cellX(key, cellsX), cellY(key, cellsX),
+                cellX(speedBuff, cellsX), cellY(speedBuff, cellsX),
+                new ObjectTable(new int[]{width - 1, exitY}),
+                placeTable(cells, cellsX, traps, random),
+                placeTable(cells, cellsX, mobs, random),
+                placeTable(cells, cellsX, hearts, random));
+    }
+
+    private static ObjectTable placeTable(byte[] cells, int cellsX, int count, SplittableRandom random) {
+        if (count <= 0) {
+            return ObjectTable.EMPTY;
+        }
+        int[] coordinates = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            int cell = occupyRandomCell(cells, random);
+            coordinates[2 * i] = cellX(cell, cellsX);
+            coordinates[2 * i + 1] = cellY(cell, cellsX);
+        }
+        return new ObjectTable(coordinates);
+    }
+
+    /**
+     * Picks a random cell that isn't occupied yet and marks it as occupied. Objects cover only a small
+     * fraction of the cells, so a few tries are enough.
+     */
+    private static int occupyRandomCell(byte[] cells, SplittableRandom random) {
+        int cell;
+        do {
+            cell = random.nextInt(cells.length);
+        } while ((cells[cell] & OCCUPIED) != 0);
+        cells[cell] |= OCCUPIED;
+        return cell;
+    }
+
+    private static int cellX(int cell, int cellsX) {
+        return (cell % cellsX) * 2 + 1;
+    }
+
+    private static int cellY(int cell, int cellsX) {
+        return (cell / cellsX) * 2 + 1;
+    }
+
+    private static void clearWall(long[] walls, long index) {
+        walls[(int) (index >>> 6)] &= ~(1L << index);
+    }
+}
@@ -0,0 +1,44 @@
+package de.tum.cit.ase.maze.level;
+
+/**
+ * Read-only table of tile coordinates for one type of map object.
+ * <p>
+ * Object tables hold the positions of every exit, trap, dynamic mob or heart of a level in a single
+ * packed {@code int} array ({@code x0, y0, x1, y1, ...}). The coordinates are given in map tiles,
+ * without the border tiles that {@link de.tum.cit.ase.maze.screens.GameScreen} adds around the maze.
+ * </p>
+ */
+public final class ObjectTable {
+
+    static final ObjectTable EMPTY = new ObjectTable(new int[0]);
+
+    private final int[] coordinates;
+
+    /**
+     * Constructs an ObjectTable over the given packed coordinates.
+     * <p>
+     * The array is taken over as is and must not be modified afterwards.
+     * </p>
+     *
+     * @param coordinates The packed x, y pairs of the objects.
+     */
+    ObjectTable(int[] coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public int size() {
+        return coordinates.length >> 1;
+    }
+
+    public int getX(int index) {
+        return coordinates[index << 1];
+    }
+
+    public int getY(int index) {
+        return coordinates[(index << 1) + 1];
+    }
+
+    int[] getCoordinates() {
+        return coordinates;
+    }
+}
@@ -0,0 +1,309 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * Result of a breadth-first search over the walls of a level: which objectives can be reached and how far away
+ * they are.
+ * <p>
+ * {@link #analyze(LevelData)} searches the level twice. The first search starts at the spawn and finds the
+ * shortest distances to the key and the nearest exit, and which tiles can be reached at all. The second search
+ * starts at the key and stops at the nearest exit. A level is solvable if the key can be reached from the
+ * spawn and an exit from the key. Open tiles that can't be reached from the spawn are grouped into dead regions.
+ * </p>
+ * <p>
+ * The searches run directly on the packed wall bitset of the level: the visited tiles are a copy of the wall
+ * bits, so a tile can be entered if its bit is clear, and the queue holds primitive tile indices
+ * ({@code y * width + x}). Only the tiles of the level itself are searched, the border around it is not.
+ * Distances are counted in steps between neighbouring tiles, {@code -1} means unreachable.
+ * </p>
+ */
+public final class Reachability {
+
+    public static final int UNREACHABLE = -1;
+
+    private final int spawnToKey;
+    private final int spawnToExit;
+    private final int keyToExit;
+    private final int reachableTiles;
+    private final int unreachableExits;
+    private final int unreachableCollectables;
+    private final int deadRegions;
+    private final int deadTiles;
+
+    private Reachability(int spawnToKey, int spawnToExit, int keyToExit, int reachableTiles,
+                         int unreachableExits, int unreachableCollectables, int deadRegions, int deadTiles) {
+        this.spawnToKey = spawnToKey;
+        this.spawnToExit = spawnToExit;
+        this.keyToExit = keyToExit;
+        this.reachableTiles = reachableTiles;
+        this.unreachableExits = unreachableExits;
+        this.unreachableCollectables = unreachableCollectables;
+        this.deadRegions = deadRegions;
+        this.deadTiles = deadTiles;
+    }
+
+    /**
+     * Analyzes the reachability of the spawn, key and exits of a level.
+     *
+     * @param level The level to analyze.
+     * @return The result of the analysis.
+     * @throws IllegalArgumentException If the level has more than {@link Integer#MAX_VALUE} tiles.
+     */
+    public static Reachability analyze(LevelData level) {
+        int width = level.getWidth();
+        int height = level.getHeight();
+        long tiles = (long) width * height;
+        if (tiles > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Level too large to analyze: " + width + "x" + height);
+        }
+        int tileCount = (int) tiles;
+        long[] walls = level.getWallWords();
+
+        IntSet exits = new IntSet();
+        ObjectTable exitTable = level.getExits();
+        for (int i = 0; i < exitTable.size(); i++) {
+            int exit = indexOf(level, exitTable.getX(i), exitTable.getY(i));
+            if (exit != UNREACHABLE) {
+                exits.add(exit);
+            }
+        }
+        int key = level.hasKey() ? indexOf(level, level.getKeyX(), level.getKeyY()) : UNREACHABLE;
+        int spawn = level.hasSpawn() ? indexOf(level, level.getSpawnX(), level.getSpawnY()) : UNREACHABLE;
+
+        IntQueue queue = new IntQueue();
+
+        // search from the spawn, recording the distances of the key and the nearest exit
+        long[] visited = walls.clone();
+        int spawnToKey = UNREACHABLE;
+        int spawnToExit = UNREACHABLE;
+        int reachableTiles = 0;
+        int reachedExits = 0;
+        if (spawn != UNREACHABLE) {
+            visit(visited, queue, spawn);
+            int distance = 0;
+            int layerEnd = queue.size();
+            while (!queue.isEmpty()) {
+                if (layerEnd == 0) {
+                    distance++;
+                    layerEnd = queue.size();
+                }
+                layerEnd--;
+                int tile = queue.poll();
+                reachableTiles++;
+                if (tile == key) {
+                    spawnToKey = distance;
+                }
+                if (exits.contains(tile)) {
+                    reachedExits++;
+                    if (spawnToExit == UNREACHABLE) {
+                        spawnToExit = distance;
+                    }
+                }
+                visitNeighbours(visited, queue, tile, width, tileCount);
+            }
+        }
+
+        int unreachableCollectables = countUnreached(level, visited, walls, level.getHearts());
+        if (level.hasSpeedBuff() && !isReached(visited, walls, indexOf(level, level.getSpeedBuffX(), level.getSpeedBuffY()))) {
+            unreachableCollectables++;
+        }
+
+        // search from the key until the nearest exit is found
+        int keyToExit = UNREACHABLE;
+        if (key != UNREACHABLE && !exits.isEmpty()) {
+            long[] visitedFromKey = walls.clone();
+            queue.clear();
+            visit(visitedFromKey, queue, key);
+            int distance = 0;
+            int layerEnd = queue.size();
+            while (!queue.isEmpty()) {
+                if (layerEnd == 0) {
+                    distance++;
+                    layerEnd = queue.size();
+                }
+                layerEnd--;
+                int tile = queue.poll();
+                if (exits.contains(tile)) {
+                    keyToExit = distance;
+                    break;
+                }
+                visitNeighbours(visitedFromKey, queue, tile, width, tileCount);
+            }
+        }
+
+        // every open tile the spawn search didn't reach belongs to a dead region, flood each region once
+        int deadRegions = 0;
+        int deadTiles = 0;
+        for (int word = 0; word < visited.length; word++) {
+            long open;
+            while ((open = ~visited[word]) != 0) {
+                int tile = word * 64 + Long.numberOfTrailingZeros(open);
+                if (tile >= tileCount) {
+                    break;
+                }
+                deadRegions++;
+                queue.clear();
+                visit(visited, queue, tile);
+                while (!queue.isEmpty()) {
+                    deadTiles++;
+                    visitNeighbours(visited, queue, queue.poll(), width, tileCount);
+                }
+            }
+        }
+
+        return new Reachability(spawnToKey, spawnToExit, keyToExit, reachableTiles,
+                exits.size - reachedExits, unreachableCollectables, deadRegions, deadTiles);
+    }
+
+    private static int indexOf(LevelData level, int x, int y) {
+        if (x < 0 || y < 0 || x >= level.getWidth() || y >= level.getHeight()) {
+            return UNREACHABLE;
+        }
+        return y * level.getWidth() + x;
+    }
+
+    private static void visitNeighbours(long[] visited, IntQueue queue, int tile, int width, int tileCount) {
+        int x = tile % width;
+        if (x > 0) visit(visited, queue, tile - 1);
+        if (x < width - 1) visit(visited, queue, tile + 1);
+        if (tile >= width) visit(visited, queue, tile - width);
+        if (tile < tileCount - width) visit(visited, queue, tile + width);
+    }
+
+    private static void visit(long[] visited, IntQueue queue, int tile) {
+        long bit = 1L << tile;
+        int word = tile >>> 6;
+        if ((visited[word] & bit) == 0) {
+            visited[word] |= bit;
+            queue.add(tile);
+        }
+    }
+
+    /**
+     * Returns if the spawn search entered a tile: its visited bit is set, but it isn't a wall.
+     */
+    private static boolean isReached(long[] visited, long[] walls, int tile) {
+        if (tile == UNREACHABLE) {
+            return false;
+        }
+        long bit = 1L << tile;
+        return (visited[tile >>> 6] & bit) != 0 && (walls[tile >>> 6] & bit) == 0;
+    }
+
+    private static int countUnreached(LevelData level, long[] visited, long[] walls, ObjectTable objects) {
+        int unreached = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            if (!isReached(visited, walls, indexOf(level, objects.getX(i), objects.getY(i)))) {
+                unreached++;
+            }
+        }
+        return unreached;
+    }
+
+    /**
+     * Returns if the level can be won: the key is reachable from the spawn, and an exit from the key.
+     *
+     * @return {@code true} if the level is solvable.
+     */
+    public boolean isSolvable() {
+        return spawnToKey != UNREACHABLE && keyToExit != UNREACHABLE;
+    }
+
+    /**
+     * Returns the length of the shortest way from the spawn over the key to an exit.
+     *
+     * @return The length in steps, or {@link #UNREACHABLE} if the level isn't solvable.
+     */
+    public int getSolutionLength() {
+        return isSolvable() ? spawnToKey + keyToExit : UNREACHABLE;
+    }
+
+    public int getSpawnToKey() {
+        return spawnToKey;
+    }
+
+    public int getSpawnToExit() {
+        return spawnToExit;
+    }
+
+    public int getKeyToExit() {
+        return keyToExit;
+    }
+
+    public int getReachableTiles() {
+        return reachableTiles;
+    }
+
+    public int getUnreachableExits() {
+        return unreachableExits;
+    }
+
+    public int getUnreachableCollectables() {
+        return unreachableCollectables;
+    }
+
+    public int getDeadRegions() {
+        return deadRegions;
+    }
+
+    public int getDeadTiles() {
+        return deadTiles;
+    }
+
+    @Override
+    public String toString() {
+        return "Reachability{solvable=" + isSolvable()
+                + ", spawnToKey=" + spawnToKey
+                + ", keyToExit=" + keyToExit
+                + ", spawnToExit=" + spawnToExit
+                + ", reachableTiles=" + reachableTiles
+                + ", unreachableExits=" + unreachableExits
+                + ", unreachableCollectables=" + unreachableCollectables
+                + ", deadRegions=" + deadRegions
+                + ", deadTiles=" + deadTiles + "}";
+    }
+
+    /**
+     * Growable ring buffer of tile indices. Search frontiers are usually much smaller than the level,
+     * so the buffer starts small instead of reserving one slot per tile.
+     */
+    private static final class IntQueue {
+        private int[] items = new int[1024];
+        private int head;
+        private int size;
+
+        void add(int item) {
+            if (size == items.length) {
+                int[] grown = new int[items.length * 2];
+                int firstPart = items.length - head;
+                System.arraycopy(items, head, grown, 0, firstPart);
+                System.arraycopy(items, 0, grown, firstPart, head);
+                items = grown;
+                head = 0;
+            }
+            items[(head + size) & (items.length - 1)] = item;
+            size++;
+        }
+
+        int poll() {
+            int item = items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return item;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Tile layer that reads its cells from a {@link CellSource} instead of holding a cell slot for every tile.
+ * <p>
+ * A regular {@link TiledMapTileLayer} allocates a cell slot for every tile of the map up front, which limits
+ * the map size to what fits into the heap. This layer only stores the cells that were set with
+ * {@link #setCell(int, int, Cell)}; every other cell is asked from the cell source when it is read. Since the
+ * source returns shared cells, a lookup costs the same as reading a slot of a regular layer, and the memory of the
+ * layer doesn't grow with the size of the map. Renderers and collision checks can therefore read any tile of the
+ * map at any time, no matter where the player is.
+ * </p>
+ * <p>
+ * Cells set with {@link #setCell(int, int, Cell)} take precedence over the cell source.
+ * </p>
+ */
+public class SparseTileLayer extends TiledMapTileLayer {
+
+    private final int width;
+    private final int height;
+
+    private final CellSource source;
+
+    // cells set through setCell by tile index, they replace the cells of the source
+    private final LongMap<Cell> setCells;
+
+    /**
+     * Constructs a SparseTileLayer of the given size.
+     *
+     * @param width      The width of the layer in tiles.
+     * @param height     The height of the layer in tiles.
+     * @param tileWidth  The width of a tile in pixels.
+     * @param tileHeight The height of a tile in pixels.
+     * @param source     The source the cells are read from.
+     */
+    public SparseTileLayer(int width, int height, int tileWidth, int tileHeight, CellSource source) {
+        // the cells of the super class are not used, so it gets the smallest possible size
+        super(1, 1, tileWidth, tileHeight);
+        this.width = width;
+        this.height = height;
+        this.source = source;
+        this.setCells = new LongMap<>();
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the cell at the given tile position.
+     * <p>
+     * The cell is the one it was set to, otherwise the cell of the source.
+     * </p>
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @return The cell at the position, or {@code null} if the tile is empty or outside the layer.
+     */
+    @Override
+    public Cell getCell(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return null;
+        }
+        if (setCells.size > 0) {
+            long index = (long) y * width + x;
+            if (setCells.containsKey(index)) {
+                return setCells.get(index);
+            }
+        }
+        return source.getCell(x, y);
+    }
+
+    /**
+     * Sets the cell at the given tile position, replacing the cell of the source.
+     * <p>
+     * Like in a regular layer, positions outside the layer are ignored. A renderer that caches the tiles of the
+     * layer, like the {@link de.tum.cit.ase.maze.graphics.StaticMapCache}, has to be told about the change.
+     * </p>
+     *
+     * @param x    The x-coordinate of the tile.
+     * @param y    The y-coordinate of the tile.
+     * @param cell The new cell, or {@code null} to empty the tile.
+     */
+    @Override
+    public void setCell(int x, int y, Cell cell) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        setCells.put((long) y * width + x, cell);
+    }
+
+    public CellSource getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,91 @@
+package de.tum.cit.ase.maze.level;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Tile layer in which every tile holds the same cell.
+ * <p>
+ * A regular {@link TiledMapTileLayer} keeps a cell slot per tile, even if all slots refer to the same cell.
+ * This layer only keeps the one cell and its size, so it takes constant memory regardless of the size of the
+ * map. The map renderer asks a layer for the cells of the visible tiles only, so drawing it costs the same as
+ * drawing a regular layer. It is meant for the floor, which is the same tile everywhere.
+ * </p>
+ * <p>
+ * Tiles can still be given another cell with {@link #setCell(int, int, Cell)}; only those tiles take memory.
+ * </p>
+ */
+public class UniformTileLayer extends TiledMapTileLayer {
+
+    private final int width;
+    private final int height;
+    private final Cell cell;
+    // cells set through setCell by tile index, they replace the shared cell
+    private final LongMap<Cell> setCells;
+
+    /**
+     * Constructs a UniformTileLayer.
+     *
+     * @param width      The width of the layer in tiles.
+     * @param height     The height of the layer in tiles.
+     * @param tileWidth  The width of a tile in pixels.
+     * @param tileHeight The height of a tile in pixels.
+     * @param cell       The cell of every tile of the layer.
+     */
+    public UniformTileLayer(int width, int height, int tileWidth, int tileHeight, Cell cell) {
+        // the cells of the super class are not used, so it gets the smallest possible size
+        super(1, 1, tileWidth, tileHeight);
+        this.width = width;
+        this.height = height;
+        this.cell = cell;
+        this.setCells = new LongMap<>();
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the cell at the given tile position.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @return The cell the tile was set to, otherwise the cell of the layer, or {@code null} if the position is
+     *         outside the layer.
+     */
+    @Override
+    public Cell getCell(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return null;
+        }
+        if (setCells.size == 0) {
+            return cell;
+        }
+        return setCells.get((long) y * width + x, cell);
+    }
+
+    /**
+     * Sets the cell at the given tile position, replacing the cell of the layer for this tile.
+     * <p>
+     * Like in a regular layer, positions outside the layer are ignored. A renderer that caches the tiles of the
+     * layer, like the {@link de.tum.cit.ase.maze.graphics.StaticMapCache}, has to be told about the change.
+     * </p>
+     *
+     * @param x    The x-coordinate of the tile.
+     * @param y    The y-coordinate of the tile.
+     * @param cell The new cell, or {@code null} to empty the tile.
+     */
+    @Override
+    public void setCell(int x, int y, Cell cell) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        setCells.put((long) y * width + x, cell);
+    }
+}
@@ -4,10 +4,9 @@
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
@@ -18,13 +17,11 @@
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
-import com.badlogic.gdx.utils.Timer;
 
-import java.awt.*;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.*;
 import java.util.List;
 
@@ -34,10 +31,31 @@
 import de.tum.cit.ase.maze.MazeRunnerGame;
 import de.tum.cit.ase.maze.buffs.CollectableHearts;
 import de.tum.cit.ase.maze.buffs.SpeedBuff;
+import de.tum.cit.ase.maze.collision.Aabb;
+import de.tum.cit.ase.maze.collision.CollisionGrid;
+import de.tum.cit.ase.maze.collision.GridRaycaster;
+import de.tum.cit.ase.maze.collision.SpatialHash;
+import de.tum.cit.ase.maze.collision.SweepAndPrune;
+import de.tum.cit.ase.maze.collision.TriggerIndex;
 import de.tum.cit.ase.maze.entities.DynamicMob;
 import de.tum.cit.ase.maze.entities.Mob;
 import de.tum.cit.ase.maze.entities.Player;
 import de.tum.cit.ase.maze.entities.StaticMob;
+import de.tum.cit.ase.maze.graphics.AnimationRegistry;
+import de.tum.cit.ase.maze.graphics.FrameStatsOverlay;
+import de.tum.cit.ase.maze.graphics.HudCache;
+import de.tum.cit.ase.maze.graphics.SpriteAtlas;
+import de.tum.cit.ase.maze.graphics.StaticMapCache;
+import de.tum.cit.ase.maze.level.SparseTileLayer;
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.LevelLoader;
+import de.tum.cit.ase.maze.level.ObjectTable;
+import de.tum.cit.ase.maze.level.Reachability;
+import de.tum.cit.ase.maze.level.UniformTileLayer;
+import de.tum.cit.ase.maze.simulation.InputState;
+import de.tum.cit.ase.maze.simulation.RenderSnapshot;
+import de.tum.cit.ase.maze.simulation.SimulationThread;
+import de.tum.cit.ase.maze.simulation.SnapshotBuffer;
 
 
 /**
@@ -50,11 +68,55 @@
  * gameplay experience, updating game states, and transitioning to other screens based on
  * game events like victory or game over.
  * </p>
+ * <p>
+ * The game is drawn from {@link RenderSnapshot}s: after every simulation step, the entities in view, the camera
+ * position and the HUD values are written into a snapshot, and a frame only draws the latest snapshot. By default
+ * the steps run on the render thread at the start of each frame. If {@link MazeRunnerGame#isThreadedSimulation()}
+ * is set, they run on a {@link SimulationThread} instead, which publishes its snapshots through a
+ * {@link SnapshotBuffer}, so that simulating and drawing the game overlap. The simulation thread then owns the
+ * entities, the collision structures and the triggers, and hands the sounds and screen changes to the render thread;
+ * the render thread owns the camera, the map and the HUD. Both threads only meet in the buffer and in the
+ * {@link InputState}: the keyboard of the backend is only read by the render thread, which samples the player's
+ * keys into the input state each frame, and the simulation only reads the keys from there.
+ * </p>
  */
 public class GameScreen implements Screen {
 
+    // maps with more tiles than this (including the border) read their object layer from the level on demand
+    private static final long SPARSE_MODE_TILES = 1 << 20;
+    // width and height in tiles of the regions the map cache builds vertices for
+    private static final int CHUNK_SIZE = 32;
+    // number of chunks whose tiles are kept as vertices for drawing, more than the camera sees at once
+    private static final int MAX_CACHED_CHUNKS = 16;
+
+    // upload steps that don't depend on the number of mobs and hearts (tile set, key and buff, player, renderer and HUD)
+    private static final int FIXED_UPLOAD_STEPS = 4;
+    // cell size of the mob hash in pixels, every mob fits into a cell
+    private static final float HASH_CELL_SIZE = 32f;
+    // distance in pixels up to which dynamic mobs notice the player, if no wall is in the way
+    private static final float SIGHT_RANGE = 5 * 16f;
+    // simulation steps per second, independent of the frame rate
+    private static final int SIMULATION_RATE = 60;
+    private static final float STEP = 1f / SIMULATION_RATE;
+    private static final long STEP_NANOS = 1_000_000_000L / SIMULATION_RATE;
+    // steps run at most in one frame, the game slows down after longer hitches instead of stalling to catch up
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    // margin around the camera in pixels within which entities are still drawn, no sprite is larger than this
+    private static final float CULL_MARGIN = 32f;
+    // seconds the speed buff lasts
+    private static final float SPEED_BUFF_DURATION = 5f;
+
     private MazeRunnerGame game;
     private OrthogonalTiledMapRenderer renderer;
+    // frame time that hasn't been simulated yet, less than a step after every frame
+    private float accumulator;
+    // the snapshots of the simulation steps, and the thread that simulates the game while it runs on its own thread
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private SimulationThread simulation;
+    // the player's keys, sampled by the render thread each frame
+    private final InputState input = new InputState();
+    // draws the map from prebuilt chunks, the renderer only draws the map if the camera sees too many of them
+    private StaticMapCache mapCache;
     private OrthographicCamera camera;
     private ExtendViewport viewport;
 
@@ -63,6 +125,11 @@ public class GameScreen implements Screen {
 
     private SpeedBuff speedBuff;
 
+    // every mob, heart and the speed buff of the level, including the ones that were removed during the game; see reset()
+    private List<Mob> spawnedMobs;
+    private List<CollectableHearts> spawnedHearts;
+    private SpeedBuff spawnedSpeedBuff;
+
     // location coordinates for hearts
     private List<int[]> heartsPositions;
 
@@ -79,7 +146,33 @@ public class GameScreen implements Screen {
     private List<Mob> mobs;
 
     // list of exits
-    private Array<Rectangle> exits;
+    private Array<Aabb> exits;
+
+    // the live mobs by position, ids are indices into spawnedMobs
+    private SpatialHash mobHash;
+    // ids found by the last spatial hash query, reused every frame
+    private final IntArray nearbyIds = new IntArray();
+    // the dynamic mobs, to push apart the ones that overlap, and the overlapping pairs of the last frame
+    private SweepAndPrune mobBroadphase;
+    private final IntArray mobPairs = new IntArray();
+    // line of sight between the mobs and the player, with the origins, mob ids and results of the last frame
+    private GridRaycaster raycaster;
+    private float[] sightOrigins = new float[64];
+    private int[] sightIds = new int[32];
+    private boolean[] sightResults = new boolean[32];
+
+    // the exits, the key, the hearts and the speed buff by the tiles they lie on
+    private TriggerIndex triggers;
+
+    // the size of the camera's view, set by the render thread and used by the simulation for culling
+    private volatile float viewWidth;
+    private volatile float viewHeight;
+    // the part of the map seen by the camera after the last step, including the CULL_MARGIN, and the mobs found in it
+    private final Aabb viewBounds = new Aabb();
+    private final IntArray visibleIds = new IntArray();
+    // entities written into the last snapshot and entities left out for being out of view
+    private int drawnEntities;
+    private int culledEntities;
 
     // the width and height of the map
     private int mapWidth;
@@ -93,10 +186,26 @@ public class GameScreen implements Screen {
 
     // Map
     private TiledMap map;
+    private LevelData level;
+    // blocked tiles of the level, used for the wall collisions of the player and the mobs
+    private CollisionGrid collisionGrid;
+    // distances between the spawn, key and exits of the level
+    private Reachability reachability;
+
+    // progress of creating the level's OpenGL resources, see uploadNext()
+    private int uploadStep;
+    private int uploadSteps;
 
-    // dummy HUD
+    // dummy HUD, drawn into a texture only when it changes
     private Stage stage;
+    private HudCache hudCache;
     private Image heart1, heart2, heart3, keyImage;
+    // slots of the values the HUD shows
+    private static final int HUD_LIVES = 0;
+    private static final int HUD_KEY = 1;
+    // what the frames cost, toggled with F3, on a stage of its own as its text changes every half second
+    private Stage overlayStage;
+    private FrameStatsOverlay statsOverlay;
 
     // music and sounds
     private Sound takeDamageSound;
@@ -104,45 +213,212 @@ public class GameScreen implements Screen {
     private Sound victorySound;
     private Sound gameOverSound;
 
+    // the sounds and screen changes of the simulation, see SimulationThread#runOnRenderThread(Runnable)
+    private final Runnable playTakeDamageSound = () -> takeDamageSound.play();
+    private final Runnable playKeyCollectedSound = () -> keyCollectedSound.play();
+    private final Runnable winGame = () -> {
+        victorySound.play();
+        game.goToVictory();
+    };
+    private final Runnable loseGame = () -> {
+        game.getGameScreenMusic().stop();
+        gameOverSound.play();
+        game.goToGameOver();
+    };
+    // the step of the simulation thread
+    private final Runnable simulationStep = () -> {
+        simulate(STEP);
+        publishSnapshot();
+    };
+
     /**
-     * Constructs a GameScreen with a reference to the MazeRunnerGame instance and a map file.
+     * Constructs an empty GameScreen that is filled by the level loading pipeline.
      * <p>
-     * Initializes the GameScreen with the provided game instance and loads the game map from the
-     * specified file location. The constructor sets up essential game components including the player,
-     * mobs, collectables, camera, viewport, and renderer. It also initializes the HUD and sound effects.
-     * This setup is crucial for creating the interactive game environment and ensuring all game elements
-     * are rendered and updated correctly.
+     * This constructor only sets up the parts of the screen that neither depend on the level nor need
+     * the OpenGL context, so it is cheap to call on the render thread. The level is then built in two phases:
+     * {@link #prepareLevel(LevelData)} does all CPU work (tile layers, spawn lists and exits) and may run on a
+     * background thread, while {@link #uploadNext()} creates the textures, entities, renderer and HUD in small
+     * steps on the render thread. The screen may only be shown once {@link #uploadNext()} returned {@code true}.
      * </p>
      *
-     * @param game         The MazeRunnerGame instance this screen is part of.
-     * @param mapLocation  The file handle pointing to the map's file, used to load the game map.
+     * @param game The MazeRunnerGame instance this screen is part of.
+     *
+     * @see LoadingScreen
      */
-    public GameScreen(MazeRunnerGame game, FileHandle mapLocation) {
+    public GameScreen(MazeRunnerGame game) {
         borderTiles = 20;
         mobsPositions = new ArrayList<>();
         heartsPositions = new ArrayList<>();
         this.game = game;
-        key = new Key(0f, 0f);
-        speedBuff = new SpeedBuff(0f,0f);
         exits = new Array<>();
-        map = loadMap(mapLocation);
-        collectableHearts = spawnHearts(heartsPositions);
-        mobs = spawnMobs(mobsPositions);
-        player = new Player(playerX, playerY, (TiledMapTileLayer) map.getLayers().get(1));
-        renderer = new OrthogonalTiledMapRenderer(map);
+        mobHash = new SpatialHash(HASH_CELL_SIZE, 64);
+        mobBroadphase = new SweepAndPrune(64);
+        triggers = new TriggerIndex(16);
+        mobs = new ArrayList<>();
+        collectableHearts = new ArrayList<>();
+        spawnedMobs = new ArrayList<>();
+        spawnedHearts = new ArrayList<>();
         camera = new OrthographicCamera();
         camera.zoom = .6f;
         viewport = new ExtendViewport(500, 500, camera);
+    }
+
+    /**
+     * Builds the CPU side of the level: the tile map, the spawn lists and the exits.
+     * <p>
+     * The level is also checked for solvability with a {@link Reachability} analysis; a level in which the key or
+     * every exit is walled off is still loaded, but a warning is printed.
+     * </p>
+     * <p>
+     * This method neither loads textures nor touches any other OpenGL resource, so it can run on a
+     * background thread. The tiles of the map get their texture regions later in {@link #uploadNext()}.
+     * </p>
+     *
+     * @param level The level to build the screen for.
+     */
+    public void prepareLevel(LevelData level) {
+        this.level = level;
+        collisionGrid = new CollisionGrid(level, borderTiles, 16);
+        raycaster = new GridRaycaster(collisionGrid);
+        reachability = Reachability.analyze(level);
+        if (!reachability.isSolvable()) {
+            Gdx.app.log("GameScreen", "Warning: the level can't be won, " + reachability);
+        }
+        map = buildMap(level);
+        uploadSteps = FIXED_UPLOAD_STEPS + mobsPositions.size() + heartsPositions.size();
+        uploadStep = 0;
+    }
+
+    /**
+     * Performs the next step of creating the OpenGL resources of the level.
+     * <p>
+     * Each step loads at most a few textures: the tile set, the key and speed buff, the player, a single mob
+     * or heart, and finally the map renderer, the sounds and the HUD. This keeps every step short enough to be
+     * spread over several frames by the {@link LoadingScreen}. Must be called on the render thread after
+     * {@link #prepareLevel(LevelData)}.
+     * </p>
+     *
+     * @return {@code true} if the level is completely loaded, {@code false} if there are steps left.
+     */
+    public boolean uploadNext() {
+        int step = uploadStep++;
+        int firstMob = FIXED_UPLOAD_STEPS - 1;
+        int firstHeart = firstMob + mobsPositions.size();
+        if (step == 0) {
+            bindTileSet();
+        } else if (step == 1) {
+            key = new Key(0f, 0f);
+            if (level.hasKey()) {
+                key.setPosition((level.getKeyX() + borderTiles) * 16, (level.getKeyY() + borderTiles) * 16);
+                triggers.add(level.getKeyX() + borderTiles, level.getKeyY() + borderTiles, id -> collectKey());
+            }
+            speedBuff = new SpeedBuff(0f, 0f);
+            if (level.hasSpeedBuff()) {
+                speedBuff.setPosition((level.getSpeedBuffX() + borderTiles) * 16, (level.getSpeedBuffY() + borderTiles) * 16);
+                triggers.add(level.getSpeedBuffX() + borderTiles, level.getSpeedBuffY() + borderTiles, id -> collectSpeedBuff());
+            }
+            spawnedSpeedBuff = speedBuff;
+        } else if (step == 2) {
+            player = new Player(playerX, playerY, collisionGrid);
+        } else if (step < firstHeart) {
+            Mob mob = spawnMob(mobsPositions.get(step - firstMob));
+            mobHash.insert(spawnedMobs.size(), mob.getHitBox().x, mob.getHitBox().y);
+            if (mob instanceof DynamicMob) {
+                mobBroadphase.update(spawnedMobs.size(), mob.getHitBox());
+            }
+            spawnedMobs.add(mob);
+            mobs.add(mob);
+        } else if (step < firstHeart + heartsPositions.size()) {
+            int[] coordinates = heartsPositions.get(step - firstHeart);
+            CollectableHearts heart = spawnHeart(coordinates);
+            triggers.add(coordinates[0] / 16, coordinates[1] / 16, id -> collectHeart(heart));
+            spawnedHearts.add(heart);
+            collectableHearts.add(heart);
+        } else {
+            renderer = new OrthogonalTiledMapRenderer(map);
+            mapCache = new StaticMapCache(map, CHUNK_SIZE, MAX_CACHED_CHUNKS);
+
+            // Sound Effects
+            setupSounds();
+
+            // HUD display
+            setupHUD();
+        }
+        return uploadStep >= uploadSteps;
+    }
 
-        // Sound Effects
-        setupSounds();
+    /**
+     * Returns how much of the level has been loaded, from 0 before {@link #prepareLevel(LevelData)}
+     * to 1 once {@link #uploadNext()} is done.
+     *
+     * @return The loading progress of the level.
+     */
+    public float getLoadProgress() {
+        if (uploadSteps == 0) {
+            return 0f;
+        }
+        return (float) uploadStep / uploadSteps;
+    }
 
-        // HUD display
-        setupHUD();
+    /**
+     * Restarts the level without loading it again.
+     * <p>
+     * The map, the tile layers and all textures only depend on the level, which doesn't change, so a restart
+     * only has to reset the state of the entities: the player is put back on the spawn point with full lives and
+     * without the key, every mob is respawned (including the ones killed by the player), and the collected hearts
+     * and speed buff are put back. Must be called on the render thread after the level is completely loaded, while
+     * the screen is hidden.
+     * </p>
+     */
+    public void reset() {
+        accumulator = 0f;
+        player.respawn(playerX, playerY);
+
+        mobs.clear();
+        for (int id = 0; id < spawnedMobs.size(); id++) {
+            Mob mob = spawnedMobs.get(id);
+            mob.respawn();
+            mobs.add(mob);
+            mobHash.insert(id, mob.getHitBox().x, mob.getHitBox().y);
+            if (mob instanceof DynamicMob) {
+                mobBroadphase.update(id, mob.getHitBox());
+            }
+        }
+
+        collectableHearts.clear();
+        collectableHearts.addAll(spawnedHearts);
+        triggers.armAll();
+
+        speedBuff = spawnedSpeedBuff;
     }
 
+    /**
+     * Advances the game and draws a frame.
+     * <p>
+     * The game is simulated in fixed steps of {@link #STEP} seconds, independent of the frame rate: the time of
+     * the frame is added to an accumulator, and as many steps are simulated as fit into it. The rest is carried over
+     * to the next frame. Since every step has the same length, movements, collisions and knockbacks don't depend
+     * on how long a frame took, and a hitch can't make an entity jump through a mob. After a hitch longer than
+     * {@link #MAX_STEPS_PER_FRAME} steps, the time beyond them is dropped, so that a slow frame isn't followed by
+     * even slower ones. While the game is simulated on its own thread, the frame doesn't simulate anything.
+     * </p>
+     * <p>
+     * The entities are drawn from the latest snapshot, between their positions before and after its step, by how far
+     * the remaining time reaches into the next step; on its own thread, by how long ago the snapshot was published.
+     * The movement on screen stays smooth when the display refreshes faster than the simulation, or out of step
+     * with it.
+     * </p>
+     *
+     * @param delta The time span between the current and last frame in seconds.
+     */
     @Override
     public void render(float delta) {
+        // press F3 to show or hide the frame statistics
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            statsOverlay.toggle();
+        }
+        statsOverlay.beginFrame();
+
         // clear screen
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -150,66 +426,269 @@ public void render(float delta) {
         // press ESC to pause the game
         checkPause();
 
-        // check if the player loses all his lives
-        checkGameOver();
-
-        // to win the game, the player must have the key and find the exit
-        checkVictory();
+        // hand the player's keys to the simulation, which may not read the keyboard itself
+        input.sample();
+
+        RenderSnapshot snapshot;
+        float alpha;
+        if (simulation == null) {
+            accumulator += delta;
+            int steps = 0;
+            // stop as soon as the game switched to another screen, like the victory screen
+            while (accumulator >= STEP && steps < MAX_STEPS_PER_FRAME && game.getScreen() == this) {
+                simulate(STEP);
+                accumulator -= STEP;
+                steps++;
+            }
+            if (accumulator >= STEP) {
+                // the game can't keep up, drop the time it is behind
+                accumulator %= STEP;
+            }
+            if (steps > 0) {
+                publishSnapshot();
+            }
+            snapshot = snapshots.acquire();
+            alpha = accumulator / STEP;
+        } else {
+            snapshot = snapshots.acquire();
+            alpha = snapshot.getAlpha(System.nanoTime(), STEP_NANOS);
+        }
 
         // update the camera position each frame to center the player
-        camera.position.set(player.getPlayerX(), player.getPlayerY(), 0);
+        camera.position.set(snapshot.getCameraX(alpha), snapshot.getCameraY(alpha), 0);
         camera.update();
 
         renderer.setView(camera);
 
-        renderer.render();
+        statsOverlay.endPhase(FrameStatsOverlay.UPDATE);
+
+        if (!mapCache.render(camera)) {
+            // zoomed out too far for the cache, submit the visible tiles one by one
+            renderer.render();
+        }
+        statsOverlay.endPhase(FrameStatsOverlay.MAP);
 
-        // begin the batch of renderer
+        // draw the mobs, the key, the hearts, the speed buff and the player
         renderer.getBatch().begin();
+        snapshot.draw(renderer.getBatch(), alpha);
+        renderer.getBatch().end();
+        statsOverlay.endPhase(FrameStatsOverlay.ENTITIES);
 
-        // render mobs
-        renderMob(delta);
+        int hudRenderCalls = game.getBatch().totalRenderCalls;
+        renderHUD(snapshot);
+        hudRenderCalls = game.getBatch().totalRenderCalls - hudRenderCalls;
+        statsOverlay.endPhase(FrameStatsOverlay.HUD);
 
-        // render the key
-        renderKey(delta);
+        int entityRenderCalls = renderer.getBatch() instanceof SpriteBatch ? ((SpriteBatch) renderer.getBatch()).renderCalls : 0;
+        int drawn = snapshot.getDrawnEntities();
+        statsOverlay.endFrame(entityRenderCalls, hudRenderCalls, drawn, drawn + snapshot.getCulledEntities());
+    }
 
-        // render collectable hearts
-        renderCollectableHearts(delta);
+    /**
+     * Simulates one step of the game.
+     * <p>
+     * The positions of the player and the mobs are saved first, so that they can be drawn between this and the next
+     * step. Then the triggers of the tiles the player occupies fire, the mobs move and fight the player, the
+     * player moves, and the animations of the collectables advance. Once the game is won or lost, nothing is
+     * simulated anymore until the screen changes.
+     * </p>
+     *
+     * @param step The length of the step in seconds.
+     */
+    private void simulate(float step) {
+        if (game.getGameState() == GameState.VICTORY || game.getGameState() == GameState.GAME_OVER) {
+            return;
+        }
+        player.savePreviousPosition();
+        for (int i = 0; i < mobs.size(); i++) {
+            mobs.get(i).savePreviousPosition();
+        }
 
-        // render speed buff
-        renderSpeedBuff(delta);
+        // check if the player loses all his lives
+        checkGameOver();
 
-        // render player
-        renderPlayer(delta);
+        // pick up the key and collectables, to win the game, the player must have the key and find the exit
+        triggers.update(player.getCollisionBox());
 
-        // end the batch from renderer
-        renderer.getBatch().end();
+        updateMobs(step);
+
+        player.update(step, input, mapWidth, mapHeight, borderTiles);
+
+        if (!player.isHasKey()) {
+            key.update(step);
+        }
+        for (int i = 0; i < collectableHearts.size(); i++) {
+            collectableHearts.get(i).update(step);
+        }
+        if (speedBuff != null) {
+            speedBuff.update(step);
+        }
+    }
+
+    /**
+     * Writes the state after the last simulation step into a snapshot and publishes it, see {@link RenderSnapshot}.
+     * <p>
+     * Only the entities within the view around the player are written, the {@link SpatialHash} finds the mobs among
+     * them, so the mobs elsewhere in the level cost nothing to skip. The ids are sorted so that overlapping mobs are
+     * always drawn in the same order. The player is written last, on top of everything else. Runs on the thread that
+     * simulates the game.
+     * </p>
+     */
+    private void publishSnapshot() {
+        RenderSnapshot snapshot = snapshots.getWriteSnapshot();
+        snapshot.clear();
+        drawnEntities = 0;
+        culledEntities = 0;
+        updateViewBounds();
+
+        visibleIds.clear();
+        mobHash.query(viewBounds.x, viewBounds.y, viewBounds.getMaxX(), viewBounds.getMaxY(), visibleIds);
+        visibleIds.sort();
+        for (int i = 0; i < visibleIds.size; i++) {
+            Mob mob = spawnedMobs.get(visibleIds.get(i));
+            if (isVisible(mob.getX(), mob.getY(), 16, 16)) {
+                snapshot.addSprite(mob.getFrame(), mob.getPreviousX(), mob.getPreviousY(), mob.getX(), mob.getY(), 16, 16);
+            }
+        }
+        // the mobs the hash didn't even report
+        culledEntities += mobHash.size() - visibleIds.size;
+
+        // the key is shown until the player collects it, see collectKey()
+        if (!player.isHasKey() && isVisible(key.getX(), key.getY(), 16, 16)) {
+            snapshot.addSprite(key.getFrame(), key.getX(), key.getY(), key.getX(), key.getY(), 16, 16);
+        }
+        for (int i = 0; i < collectableHearts.size(); i++) {
+            CollectableHearts heart = collectableHearts.get(i);
+            if (isVisible(heart.getX(), heart.getY(), 32, 32)) {
+                snapshot.addSprite(heart.getFrame(), heart.getX(), heart.getY(), heart.getX(), heart.getY(), 32, 32);
+            }
+        }
+        if (speedBuff != null && isVisible(speedBuff.getX(), speedBuff.getY(), 16, 16)) {
+            snapshot.addSprite(speedBuff.getFrame(), speedBuff.getX(), speedBuff.getY(), speedBuff.getX(), speedBuff.getY(), 16, 16);
+        }
 
-        renderHUD();
+        float offsetX = player.getFrameOffsetX();
+        snapshot.addSprite(
+                player.getFrame(),
+                player.getPreviousX() + offsetX,
+                player.getPreviousY(),
+                player.getPlayerX() + offsetX,
+                player.getPlayerY(),
+                player.getFrameWidth(),
+                player.getFrameHeight()
+        );
+        snapshot.setCamera(player.getPreviousX(), player.getPreviousY(), player.getPlayerX(), player.getPlayerY());
+        snapshot.setHud(player.getPlayerLives(), player.isHasKey());
+        snapshot.setEntityCounts(drawnEntities, culledEntities);
+        snapshots.publish();
     }
 
+    /**
+     * Publishes the current state and starts the simulation thread if the game is simulated on its own thread.
+     */
     @Override
     public void show() {
+        // the first snapshot needs the size of the view, which is otherwise only known after the first resize
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        updateViewSize();
+        publishSnapshot();
+        statsOverlay.resume();
+        // no key is held until the first frame samples the keyboard
+        input.clear();
+        if (game.isThreadedSimulation()) {
+            startSimulation();
+        }
+    }
 
+    /**
+     * Starts simulating the game on a thread of its own, unless it is already running.
+     */
+    private void startSimulation() {
+        if (simulation == null) {
+            simulation = new SimulationThread(simulationStep, STEP_NANOS, MAX_STEPS_PER_FRAME);
+            simulation.start();
+        }
     }
 
     /**
-     * Checks if the player has won the game.
+     * Stops the simulation thread and waits for its last step, so that the render thread owns the game again.
+     */
+    private void stopSimulation() {
+        if (simulation != null) {
+            simulation.shutdown();
+            simulation = null;
+        }
+    }
+
+    /**
+     * Lets the player win the game if they have the key, called when the player steps onto an exit.
      * <p>
-     * This method checks the victory conditions for the game. The player wins if they have
-     * collected the key and reached one of the exits. If the player meets these conditions,
-     * the game state is set to VICTORY, a victory sound is played, and the game transitions
-     * to the Victory screen.
+     * The player wins if they have collected the key and reached one of the exits. If the player meets these
+     * conditions, the game state is set to VICTORY, a victory sound is played, and the game transitions
+     * to the Victory screen. An exit reached without the key stays armed, and is checked again once the key
+     * is collected.
      * </p>
+     *
+     * @return {@code false}, exits are never used up.
      */
-    private void checkVictory() {
-        for (Rectangle exit : exits) {
-            if (player.isHasKey() && player.getCollisionBox().intersects(exit)) {
-                game.setGameState(GameState.VICTORY);
-                victorySound.play();
-                game.goToVictory();
-            }
+    private boolean reachExit() {
+        if (player.isHasKey()) {
+            game.setGameState(GameState.VICTORY);
+            SimulationThread.runOnRenderThread(winGame);
         }
+        return false;
+    }
+
+    /**
+     * Collects the key, called when the player steps onto the key's tile.
+     *
+     * @return {@code true}, the key is used up until the level is restarted.
+     */
+    private boolean collectKey() {
+        if (!player.isHasKey()) {
+            player.setHasKey(true);
+            SimulationThread.runOnRenderThread(playKeyCollectedSound);
+            // an exit the player is already standing on can be used now
+            triggers.invalidate();
+        }
+        return true;
+    }
+
+    /**
+     * Collects a heart, called when the player steps onto the heart's tile.
+     * <p>
+     * The player only picks up a heart if they have less than the maximum number of lives. Otherwise the heart stays
+     * on the map; if the player loses a life while standing on it, it is picked up right away.
+     * </p>
+     *
+     * @param heart The heart.
+     * @return {@code true} if the heart was collected.
+     */
+    private boolean collectHeart(CollectableHearts heart) {
+        if (player.getPlayerLives() >= 3) {
+            return false;
+        }
+        SimulationThread.runOnRenderThread(playKeyCollectedSound);
+        player.setPlayerLives(player.getPlayerLives() + 1);
+        collectableHearts.remove(heart);
+        return true;
+    }
+
+    /**
+     * Collects the speed buff, called when the player steps onto its tile.
+     * <p>
+     * The player's movement speed is temporarily increased, and a sound is played. The player's speed returns to
+     * normal after {@link #SPEED_BUFF_DURATION} seconds of play, ensuring the buff effect is temporary.
+     * </p>
+     *
+     * @return {@code true}, the speed buff is used up until the level is restarted.
+     */
+    private boolean collectSpeedBuff() {
+        speedBuff = null;
+        SimulationThread.runOnRenderThread(playKeyCollectedSound);
+        // Increase player movement speed, it returns to normal when the buff runs out
+        player.increaseSpeed(SPEED_BUFF_DURATION);
+        return true;
     }
 
     /**
@@ -224,9 +703,7 @@ private void checkVictory() {
     private void checkGameOver() {
         if (player.getPlayerLives() <= 0) {
             game.setGameState(GameState.GAME_OVER);
-            game.getGameScreenMusic().stop();
-            gameOverSound.play();
-            game.goToGameOver();
+            SimulationThread.runOnRenderThread(loseGame);
         }
     }
 
@@ -245,44 +722,83 @@ private void checkPause() {
     }
 
     /**
-     * Renders the mobs and checks for interactions between the player and mobs.
+     * Updates the mobs and checks for interactions between the player and mobs.
      * <p>
-     * This method is called within the game's render loop to draw each mob and update
-     * their states. It also checks for collisions between the player and the mobs.
+     * This method is called in every simulation step to update the states of the mobs. It also checks for
+     * collisions between the player and the mobs.
      * If a collision occurs with a Mob, the player might take damage, and if the mob is of type {@link DynamicMob},
      * the mob might be knocked back or removed if its lives are depleted. This method ensures that the interactions
      * between the player and the mobs are processed, and the game's logic is maintained.
      * </p>
+     * <p>
+     * Every mob still moves each frame, but only the mobs the {@link SpatialHash} finds near the player are tested
+     * for collisions, so the cost of the collision checks doesn't grow with the number of mobs in the level.
+     * Mobs that walked into each other are pushed apart, see {@link #separateMobs()}. The mobs are drawn
+     * separately, see {@link #publishSnapshot()}.
+     * </p>
      *
-     * @param delta The time span between the current and last frame in seconds.
+     * @param delta The length of the simulation step in seconds.
      */
-    private void renderMob(float delta) {
-        Iterator<Mob> iterator = mobs.iterator();
-        while (iterator.hasNext()) {
-            Mob mob = iterator.next();
-            mob.update(delta);
-            mob.draw(renderer.getBatch());
+    private void updateMobs(float delta) {
+        updateMobSight();
+
+        for (int id = 0; id < spawnedMobs.size(); id++) {
+            if (!mobHash.contains(id)) {
+                // killed by the player
+                continue;
+            }
+            spawnedMobs.get(id).update(delta);
+        }
+
+        separateMobs();
+
+        for (int id = 0; id < spawnedMobs.size(); id++) {
+            if (mobHash.contains(id)) {
+                Mob mob = spawnedMobs.get(id);
+                mobHash.move(id, mob.getHitBox().x, mob.getHitBox().y);
+            }
+        }
+
+        // only the mobs near the player can touch it, the query box covers the hit, collision and attack boxes
+        Aabb hitBox = player.getHitBox();
+        Aabb collisionBox = player.getCollisionBox();
+        Aabb attackBox = player.getAttackBox();
+        float minX = Math.min(Math.min(hitBox.x, collisionBox.x), attackBox.x);
+        float minY = Math.min(Math.min(hitBox.y, collisionBox.y), attackBox.y);
+        float maxX = Math.max(Math.max(hitBox.x + hitBox.width, collisionBox.x + collisionBox.width), attackBox.x + attackBox.width);
+        float maxY = Math.max(Math.max(hitBox.y + hitBox.height, collisionBox.y + collisionBox.height), attackBox.y + attackBox.height);
+        nearbyIds.clear();
+        mobHash.query(minX, minY, maxX, maxY, nearbyIds);
+
+        for (int i = 0; i < nearbyIds.size; i++) {
+            int id = nearbyIds.get(i);
+            Mob mob = spawnedMobs.get(id);
 
             // check for collision between mobs and player
             if (mob instanceof DynamicMob) {
-                if (!player.isInvincible() && mob.getHitBox().intersects(player.getHitBox())) {
+                if (!player.isInvincible() && mob.getHitBox().overlaps(player.getHitBox())) {
                     player.takeDamage();
-                    takeDamageSound.play();
+                    SimulationThread.runOnRenderThread(playTakeDamageSound);
+                    triggers.invalidate();
                     player.applyKnockBack(mob, .9f);
                 }
-                if (player.getAttackBox().intersects(mob.getHitBox())) {
+                if (player.getAttackBox().overlaps(mob.getHitBox())) {
                     ((DynamicMob) mob).takeDamage();
                     ((DynamicMob) mob).applyKnockBack(player, .9f);
+                    mobHash.move(id, mob.getHitBox().x, mob.getHitBox().y);
 
                     // If the mob has lost all lives, remove it
                     if (((DynamicMob) mob).getLives() <= 0) {
-                        iterator.remove();
+                        mobHash.remove(id);
+                        mobBroadphase.remove(id);
+                        mobs.remove(mob);
                     }
                 }
             } else if (mob instanceof StaticMob) {
-                if (!player.isInvincible() && mob.getHitBox().intersects(player.getCollisionBox())) {
+                if (!player.isInvincible() && mob.getHitBox().overlaps(player.getCollisionBox())) {
                     player.takeDamage();
-                    takeDamageSound.play();
+                    SimulationThread.runOnRenderThread(playTakeDamageSound);
+                    triggers.invalidate();
                     player.applyKnockBack(mob, .9f);
                 }
             }
@@ -290,113 +806,133 @@ private void renderMob(float delta) {
     }
 
     /**
-     * Renders the key and checks for player-key interactions.
+     * Updates the part of the map seen by the camera after the last step, widened by {@link #CULL_MARGIN}.
      * <p>
-     * This method is responsible for rendering the key on the screen and updating its state
-     * each frame. It checks for collisions between the player and the key. If a collision is detected,
-     * indicating the player has reached the key, the player's state is updated to reflect that they have collected the key,
-     * and a sound effect is played to signify the collection. It also stops rendering the key as soon as the player collects it.
-     * This method contributes to the game's logic by managing the key's visibility and interaction with the player.
+     * Entities outside of it aren't written into the snapshot. The camera is centered on the player, so the view is
+     * taken around the player's position. The margin keeps entities whose sprite reaches into the view from popping
+     * up late, and covers the small movements of the entities and the camera between two steps.
      * </p>
-     *
-     * @param delta The time span between the current and last frame in seconds.
      */
-    private void renderKey(float delta) {
-        if (!player.isHasKey()) {
-            key.update(delta);
-            key.draw(renderer.getBatch());
-            if (key.getHitBox().intersects(player.getCollisionBox())) {
-                player.setHasKey(true);
-                keyCollectedSound.play();
-            }
-        }
+    private void updateViewBounds() {
+        float width = viewWidth;
+        float height = viewHeight;
+        viewBounds.set(
+                player.getPlayerX() - width / 2 - CULL_MARGIN,
+                player.getPlayerY() - height / 2 - CULL_MARGIN,
+                width + 2 * CULL_MARGIN,
+                height + 2 * CULL_MARGIN
+        );
     }
 
     /**
-     * Renders collectable hearts and checks for player-heart interactions.
-     * <p>
-     * This method iterates through all collectable hearts and performs two main functions:
-     * updating and drawing each heart, and checking for collisions between the hearts and the player.
-     * If a collision is detected and the player has less than the maximum number of lives, the player
-     * gains a life, a heart collection sound is played, and the heart is removed from the game.
-     * This method ensures that the collectable hearts are not only visually represented but also
-     * interactively contribute to the player's health during gameplay.
-     * </p>
-     *
-     * @param delta The time span between the current and last frame in seconds.
+     * Takes over the size of the camera's view for the culling of the simulation, after the viewport changed.
      */
-    private void renderCollectableHearts(float delta) {
-        Iterator<CollectableHearts> heartIterator = collectableHearts.iterator();
-        while (heartIterator.hasNext()) {
-            CollectableHearts heart = heartIterator.next();
-
-            // Update and draw the hearts
-            heart.update(delta);
-            heart.draw(renderer.getBatch());
-
-            //  Check if the player collides with the hearts
-            if (player.getCollisionBox().intersects(heart.getHitBox()) && player.getPlayerLives() < 3) {
+    private void updateViewSize() {
+        viewWidth = camera.viewportWidth * camera.zoom;
+        viewHeight = camera.viewportHeight * camera.zoom;
+    }
 
-                keyCollectedSound.play();
-                if (player.getPlayerLives() < 3) {
-                    player.setPlayerLives(player.getPlayerLives() + 1);
-                }
-                // Update and draw the hearts
-                heartIterator.remove();
-            }
+    /**
+     * Returns if a sprite lies at least partly within the view of the camera, and counts it as written or culled.
+     *
+     * @param x      The x-coordinate of the sprite's lower left corner.
+     * @param y      The y-coordinate of the sprite's lower left corner.
+     * @param width  The width of the sprite.
+     * @param height The height of the sprite.
+     * @return {@code true} if the sprite has to be drawn.
+     */
+    private boolean isVisible(float x, float y, float width, float height) {
+        boolean visible = x < viewBounds.getMaxX() && x + width > viewBounds.x
+                && y < viewBounds.getMaxY() && y + height > viewBounds.y;
+        if (visible) {
+            drawnEntities++;
+        } else {
+            culledEntities++;
         }
+        return visible;
     }
 
     /**
-     * Renders the speed buff and checks for player interaction.
+     * Lets the dynamic mobs that can see the player chase them.
      * <p>
-     * This method is responsible for handling the rendering and state update of the speed buff,
-     * typically represented by an apple. If the speed buff is present, it updates its state and
-     * draws it on the screen. The method checks for a collision between the player and the speed buff.
-     * If a collision occurs, the speed buff is consumed, the player's movement speed is temporarily
-     * increased, and a sound is played. A timer is set to return the player's speed to normal after
-     * a duration of 5 seconds, ensuring the buff effect is temporary.
+     * A mob sees the player if the player is within {@link #SIGHT_RANGE} and no wall lies on the line between the
+     * centers of the mob and the player. The lines of all mobs in range are checked with one batch query of the
+     * {@link GridRaycaster}; mobs out of range aren't traced at all.
      * </p>
-     *
-     * @param delta The time span between the current and last frame in seconds.
      */
-    private void renderSpeedBuff(float delta) {
-        if (speedBuff != null) {
-            speedBuff.update(delta);
-            speedBuff.draw(renderer.getBatch());
-
-            // Check if player collides with apple
-            if (player.getCollisionBox().intersects(speedBuff.getHitBox())) {
-                speedBuff = null;
-                keyCollectedSound.play();
-                // Increase player movement speed and set a timer to return to normal speed after 5 seconds
-                player.increaseSpeed();
-                Timer.instance().scheduleTask(new Timer.Task() {
-                    @Override
-                    public void run() {
-                        //Return to normal speed
-                        player.resetSpeed();
-                    }
-                }, 5);
+    private void updateMobSight() {
+        Aabb box = player.getCollisionBox();
+        float playerCenterX = box.getCenterX();
+        float playerCenterY = box.getCenterY();
+
+        int count = 0;
+        for (int id = 0; id < spawnedMobs.size(); id++) {
+            if (!mobHash.contains(id) || !(spawnedMobs.get(id) instanceof DynamicMob)) {
+                continue;
+            }
+            DynamicMob mob = (DynamicMob) spawnedMobs.get(id);
+            float centerX = mob.getX() + 8;
+            float centerY = mob.getY() + 8;
+            float distanceX = centerX - playerCenterX;
+            float distanceY = centerY - playerCenterY;
+            if (distanceX * distanceX + distanceY * distanceY > SIGHT_RANGE * SIGHT_RANGE) {
+                mob.stopChasing();
+                continue;
+            }
+            if (count == sightIds.length) {
+                sightIds = Arrays.copyOf(sightIds, count * 2);
+                sightResults = Arrays.copyOf(sightResults, count * 2);
+                sightOrigins = Arrays.copyOf(sightOrigins, count * 4);
+            }
+            sightIds[count] = id;
+            sightOrigins[2 * count] = centerX;
+            sightOrigins[2 * count + 1] = centerY;
+            count++;
+        }
 
+        raycaster.hasLineOfSight(sightOrigins, count, playerCenterX, playerCenterY, sightResults);
+        for (int i = 0; i < count; i++) {
+            DynamicMob mob = (DynamicMob) spawnedMobs.get(sightIds[i]);
+            if (sightResults[i]) {
+                // the mob's position is the lower left corner of its sprite
+                mob.chase(playerCenterX - 8, playerCenterY - 8);
+            } else {
+                mob.stopChasing();
             }
         }
     }
 
     /**
-     * Updates and renders the player on the screen.
+     * Pushes overlapping dynamic mobs apart, so that they don't stack up on the same spot.
      * <p>
-     * This method updates the player's state based on the time delta and the constraints
-     * of the game map, including map dimensions and border tile positions. Following the update,
-     * it draws the player using the game's rendering batch. This ensures that the player's
-     * movements and animations are consistently updated and displayed each frame.
+     * The overlapping pairs are found by the {@link SweepAndPrune} broadphase, which only compares mobs that are
+     * close to each other along its sweep axis. The two mobs of a pair are pushed apart along the axis on which they
+     * overlap the least, each by half of the overlap. The pushes go through the walls, so a mob pushed against a wall
+     * stays in front of it and the overlap is resolved over the next frames.
      * </p>
-     *
-     * @param delta The time span between the current and last frame in seconds.
      */
-    private void renderPlayer(float delta) {
-        player.update(delta, mapWidth, mapHeight, borderTiles);
-        player.draw(renderer.getBatch());
+    private void separateMobs() {
+        for (int id = 0; id < spawnedMobs.size(); id++) {
+            if (mobBroadphase.contains(id)) {
+                mobBroadphase.update(id, spawnedMobs.get(id).getHitBox());
+            }
+        }
+        mobPairs.clear();
+        mobBroadphase.findOverlaps(mobPairs);
+
+        for (int i = 0; i < mobPairs.size; i += 2) {
+            DynamicMob first = (DynamicMob) spawnedMobs.get(mobPairs.get(i));
+            DynamicMob second = (DynamicMob) spawnedMobs.get(mobPairs.get(i + 1));
+            float pushX = first.getHitBox().penetrationX(second.getHitBox());
+            float pushY = first.getHitBox().penetrationY(second.getHitBox());
+            if (Math.abs(pushX) <= Math.abs(pushY)) {
+                first.push(pushX * .5f, 0f);
+                second.push(-pushX * .5f, 0f);
+            } else {
+                first.push(0f, pushY * .5f);
+                second.push(0f, -pushY * .5f);
+            }
+        }
     }
 
     /**
@@ -407,11 +943,15 @@ private void renderPlayer(float delta) {
      * current health, and the key icon visibility is based on whether the player has collected a key.
      * <br><br>
      * The HUD is crucial for providing the player with immediate and essential game information.
+     * It is drawn into a texture by the {@link HudCache} only when the lives or the key status changed,
+     * every other frame only draws that texture.
      * </p>
+     *
+     * @param snapshot The snapshot the values are taken from.
      */
-    private void renderHUD() {
-        int health = player.getPlayerLives();
-        boolean hasKey = player.isHasKey();
+    private void renderHUD(RenderSnapshot snapshot) {
+        int health = snapshot.getPlayerLives();
+        boolean hasKey = snapshot.isHasKey();
 
         // Update the visibility of heart icons based on player's health
         heart1.setVisible(health >= 1);
@@ -421,9 +961,15 @@ private void renderHUD() {
         // Update the visibility of the key icon based on whether the player has a key
         keyImage.setVisible(hasKey);
 
-        // draw the stage
-        stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
-        stage.draw();
+        // draw the stage again only if one of its values changed
+        hudCache.setValue(HUD_LIVES, health);
+        hudCache.setValue(HUD_KEY, hasKey ? 1 : 0);
+        hudCache.render();
+
+        if (statsOverlay.isVisible()) {
+            overlayStage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
+            overlayStage.draw();
+        }
     }
 
     /**
@@ -458,16 +1004,18 @@ private void setupHUD() {
         table.setFillParent(true);
         stage.addActor(table);
 
-        // Initialize heart icons
-        heart1 = new Image(collectableHearts.get(0).getAnimationFrames().first());
-        heart2 = new Image(collectableHearts.get(0).getAnimationFrames().first());
-        heart3 = new Image(collectableHearts.get(0).getAnimationFrames().first());
+        // Initialize heart icons, from the clip rather than a heart of the level, which may have none
+        AnimationRegistry animations = AnimationRegistry.get();
+        TextureRegion heartIcon = animations.getFirstFrame(animations.getHandle(AnimationRegistry.HEART));
+        heart1 = new Image(heartIcon);
+        heart2 = new Image(heartIcon);
+        heart3 = new Image(heartIcon);
         heart1.setScale(4f);
         heart2.setScale(4f);
         heart3.setScale(4f);
 
         // Initialize key icon
-        keyImage = new Image(key.getAnimationFrames().first());
+        keyImage = new Image(animations.getFirstFrame(key.getClip()));
         keyImage.setScale(4f);
 
         table.align(Align.topLeft);
@@ -479,35 +1027,30 @@ private void setupHUD() {
         table.row();
 
         table.add(keyImage).colspan(1).padTop(25).padLeft(25);
+
+        hudCache = new HudCache(stage);
+
+        overlayStage = new Stage(new ScreenViewport(new OrthographicCamera()), game.getBatch());
+        statsOverlay = new FrameStatsOverlay(overlayStage, game.getSkin());
     }
 
     /**
-     * Loads the tile set used for creating the game's tile map.
-     * <p>
-     * This method initializes the tile set by loading textures from specified image files and
-     * creating individual tiles for different map elements like walls, entry points, exits, and floors.
-     * Each tile is created from a portion of the texture sheets and assigned a unique ID. The tiles
-     * are then added to a tile set, which is used in constructing the game's map. The method ensures
-     * that the necessary graphical elements are available for map creation.
-     * </p>
+     * Creates the tile set used for creating the game's tile map.
      * <p>
-     * Credits for tileset artwork: https://kenney-assets.itch.io/tiny-dungeon
+     * This method creates individual tiles for different map elements like walls, entry points, exits, and floors,
+     * each assigned a unique ID, and adds them to a tile set, which is used in constructing the game's map.
+     * The texture regions of the tiles are left empty here, so that the map can be built without the OpenGL
+     * context; they are pointed at the tile sheets by {@link #bindTileSet()}.
      * </p>
      */
-    private void loadTileSet() {
-        Texture basicTilesSheet = new Texture(Gdx.files.internal("basictiles.png"));
-        // credit: https://kenney-assets.itch.io/tiny-dungeon
-        Texture tileMapSheet = new Texture(Gdx.files.internal("tilemap_packed.png"));
-
-        int TILE_SIZE = 16;
-
-        StaticTiledMapTile tile0 = new StaticTiledMapTile(new TextureRegion(basicTilesSheet, 0 * TILE_SIZE, 10 * TILE_SIZE, TILE_SIZE, TILE_SIZE));                 // wall tiles
+    private void createTileSet() {
+        StaticTiledMapTile tile0 = new StaticTiledMapTile(new TextureRegion());     // wall tiles
         tile0.setId(0);
-        StaticTiledMapTile tile1 = new StaticTiledMapTile(new TextureRegion(basicTilesSheet, 1 * TILE_SIZE, 7 * TILE_SIZE, TILE_SIZE, TILE_SIZE));      // entry point
+        StaticTiledMapTile tile1 = new StaticTiledMapTile(new TextureRegion());     // entry point
         tile1.setId(1);
-        StaticTiledMapTile tile2 = new StaticTiledMapTile(new TextureRegion(tileMapSheet, 9 * TILE_SIZE, 1 * TILE_SIZE, TILE_SIZE, TILE_SIZE));         // exit
+        StaticTiledMapTile tile2 = new StaticTiledMapTile(new TextureRegion());     // exit
         tile2.setId(2);
-        StaticTiledMapTile tile6 = new StaticTiledMapTile(new TextureRegion(tileMapSheet, 4 * TILE_SIZE, 3 * TILE_SIZE, TILE_SIZE, TILE_SIZE));         // floor
+        StaticTiledMapTile tile6 = new StaticTiledMapTile(new TextureRegion());     // floor
         tile6.setId(6);
 
         tileSet = new TiledMapTileSet();
@@ -518,172 +1061,180 @@ private void loadTileSet() {
     }
 
     /**
-     * Determines the size of the game map from a properties file.
+     * Binds the textures of the tile set.
      * <p>
-     * This method calculates the width and height of the game map based on the contents of the
-     * provided properties file. If the properties file explicitly specifies the map's 'Width' and 'Height',
-     * these values are used. Otherwise, the method calculates the dimensions by finding the largest
-     * X and Y coordinates from the keys in the properties file, which represent tile positions.
-     * The calculated size is essential for various game logic, such as ensuring the player does not
-     * move outside the bounds of the map.
+     * This method takes the tile sheets from the shared {@link SpriteAtlas} and points the texture region of
+     * each tile created by {@link #createTileSet()} at its portion of the sheets. Since the map's cells refer
+     * to the tiles, the whole map shows the right graphics afterwards. The tiles share their texture with the
+     * entities, so the map and the entities are drawn without switching textures. Must be called on the
+     * render thread.
      * </p>
+     * <p>
+     * Credits for tileset artwork: https://kenney-assets.itch.io/tiny-dungeon
+     * </p>
+     */
+    private void bindTileSet() {
+        SpriteAtlas atlas = SpriteAtlas.get();
+        TextureRegion basicTilesSheet = atlas.getSheet(SpriteAtlas.BASIC_TILES);
+        // credit: https://kenney-assets.itch.io/tiny-dungeon
+        TextureRegion tileMapSheet = atlas.getSheet(SpriteAtlas.TILE_MAP);
+
+        bindTile(0, basicTilesSheet, 0, 10);    // wall tiles
+        bindTile(1, basicTilesSheet, 1, 7);     // entry point
+        bindTile(2, tileMapSheet, 9, 1);        // exit
+        bindTile(6, tileMapSheet, 4, 3);        // floor
+    }
+
+    /**
+     * Points the texture region of a tile at a 16x16 cell of a tile sheet.
      *
-     * @param properties The properties file containing the map data.
-     * @return A map with keys 'Width' and 'Height' and their corresponding integer values representing
-     *         the size of the game map.
-     */
-    private Map<String, Integer> findMapSize(Properties properties) {
-        Map<String, Integer> mapSize = new HashMap<>();
-        if (properties.containsKey("Width") && properties.containsKey("Height")) {
-            mapSize.put("Width", Integer.parseInt(properties.getProperty("Width")));
-            mapSize.put("Height", Integer.parseInt(properties.getProperty("Height")));
-        } else {
-            int mapWidth = Integer.MIN_VALUE;
-            int mapHeight = Integer.MIN_VALUE;
-            for (String key : properties.stringPropertyNames()) {
-                if (key.contains(",")) {
-                    String[] coordinates = key.split(",");
-                    int x = Integer.parseInt(coordinates[0]);
-                    if (x > mapWidth) mapWidth = x;
-                    int y = Integer.parseInt(coordinates[1]);
-                    if (y > mapHeight) mapHeight = y;
-                }
-            }
-            mapSize.put("Width", mapWidth + 1);
-            mapSize.put("Height", mapHeight + 1);
-        }
-        return mapSize;
+     * @param id     The ID of the tile in the tile set.
+     * @param sheet  The region of the tile sheet.
+     * @param column The column of the tile in the sheet.
+     * @param row    The row of the tile in the sheet.
+     */
+    private void bindTile(int id, TextureRegion sheet, int column, int row) {
+        int TILE_SIZE = 16;
+        TextureRegion region = tileSet.getTile(id).getTextureRegion();
+        region.setRegion(sheet, column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
     }
 
     /**
-     * Loads and constructs the game map from a properties file.
+     * Constructs the game map from a loaded level.
      * <p>
-     * This method reads a properties file from the provided file handle and constructs a TiledMap
-     * object representing the game map. It initializes the tile set, determines the map's size, and
-     * creates layers for the map floor and objects like walls, keys, and mob spawn points. The method
-     * also marks crucial in-game coordinates such as those for mobs, the player, exits, keys, and other
-     * collectables. It plays a pivotal role in translating the static map data into a dynamic game environment.
+     * This method constructs a TiledMap object representing the game map from the level loaded by
+     * {@link LevelLoader} (either from a '.properties' map or a compiled '.maze' map). It creates the tile set,
+     * takes over the map's size, and creates layers for the map floor and objects like walls, the entry and
+     * the exits. Since the level already holds its objects in typed tables, the coordinates for mobs, the player,
+     * exits and collectables are taken over in the same pass, without any string work. The floor is a
+     * {@link UniformTileLayer}, which holds a single cell for the whole map. Maps with more than
+     * {@code SPARSE_MODE_TILES} tiles get a {@link SparseTileLayer} as object layer, which reads its cells from
+     * the level when they are asked for. No OpenGL resources are created, so this can run on a background thread.
+     * It plays a pivotal role in translating the static map data into a dynamic game environment.
      * </p>
      *
-     * @param mapLocation The file handle pointing to the map's properties file.
+     * @param level The loaded level.
      * @return A {@link TiledMap} object representing the constructed game map.
-     * @throws IOException If there is an error reading the properties file.
      *
-     * @see FileHandle
      * @see TiledMap
-     * @see Properties
+     * @see LevelData
      */
-    private TiledMap loadMap(FileHandle mapLocation) {
-        // load the tile set that we are going to use to construct the maze
-        this.loadTileSet();
+    private TiledMap buildMap(LevelData level) {
+        // create the tile set that we are going to use to construct the maze
+        this.createTileSet();
         TiledMap tiledMap = new TiledMap();
         tiledMap.getTileSets().addTileSet(this.tileSet);
 
-        // read the properties file
-        try {
-            Properties properties = new Properties();
-            properties.load(new FileInputStream(String.valueOf(mapLocation)));
-
-            // set the width and height of the maze according to the properties file
-            // later, we have to check whether the width or height of the maze is given in the file
-            // if not, max x = width, max y = height
-            Map<String, Integer> mapSize = findMapSize(properties);
-            this.mapWidth = mapSize.get("Width");
-            this.mapHeight = mapSize.get("Height");
-
-            // add floor layer
-            // the concept is to increment the maze layer objects' coordinates in both x and y-axis by the number of border tiles
-            TiledMapTileLayer floorLayer = new TiledMapTileLayer(this.mapWidth + this.borderTiles * 2, this.mapHeight + this.borderTiles * 2, 16, 16);
-            for (int x = 0; x < floorLayer.getWidth(); x++) {
-                for (int y = 0; y < floorLayer.getHeight(); y++) {
-                    floorLayer.setCell(x, y, new TiledMapTileLayer.Cell().setTile(tileSet.getTile(6)));
-                }
+        // set the width and height of the maze according to the level
+        this.mapWidth = level.getWidth();
+        this.mapHeight = level.getHeight();
+
+        // the concept is to increment the maze layer objects' coordinates in both x and y-axis by the number of border tiles
+        int floorWidth = this.mapWidth + this.borderTiles * 2;
+        int floorHeight = this.mapHeight + this.borderTiles * 2;
+        int objectWidth = this.mapWidth + this.borderTiles;
+        int objectHeight = this.mapHeight + this.borderTiles;
+
+        // cells are never modified after the map is built, so every tile of a kind shares one cell
+        TiledMapTileLayer.Cell floorCell = new TiledMapTileLayer.Cell().setTile(tileSet.getTile(6));
+        TiledMapTileLayer.Cell wallCell = new TiledMapTileLayer.Cell().setTile(tileSet.getTile(LevelData.WALL));
+
+        // the entry and the exits are the only tiles of the object layer that aren't walls
+        IntMap<TiledMapTileLayer.Cell> markerCells = new IntMap<>();
+        if (level.hasSpawn()) {
+            int x = level.getSpawnX() + borderTiles;
+            int y = level.getSpawnY() + borderTiles;
+            playerX = x * 16f;
+            playerY = y * 16f;
+            if (x < objectWidth && y < objectHeight) {
+                markerCells.put(y * objectWidth + x, new TiledMapTileLayer.Cell().setTile(tileSet.getTile(LevelData.SPAWN)));
             }
-            tiledMap.getLayers().add(floorLayer);
-
-            // add object layer (walls, keys, etc)
-            TiledMapTileLayer objectLayer = new TiledMapTileLayer(this.mapWidth + borderTiles, this.mapHeight + borderTiles, 16, 16);
-            for (String key : properties.stringPropertyNames()) {
-                if (key.contains(",")) {
-                    String[] coordinates = key.split(",");
-                    int x = Integer.parseInt(coordinates[0]) + borderTiles;
-                    int y = Integer.parseInt(coordinates[1]) + borderTiles;
-                    // mobs and player spawn points
-                    if (properties.getProperty(key).equals("3")) {
-                        mobsPositions.add(new int[]{3, x * 16, y * 16});
-                    } else if (properties.getProperty(key).equals("4")) {
-                        mobsPositions.add(new int[]{4, x * 16, y * 16});
-                    } else if (properties.getProperty(key).equals("5")) {
-                        this.key.setPosition(x * 16, y * 16);
-                    } else if (properties.getProperty(key).equals("6")) {
-                       heartsPositions.add(new int[]{x * 16,y * 16});
-                    } else if (properties.getProperty(key).equals("7")) {
-                        this.speedBuff.setPosition(x*16,y*16);
-                    }else {
-                        if (properties.getProperty(key).equals("1")) {
-                            playerX = x * 16f;
-                            playerY = y * 16f;
-                        }
-                        if (properties.getProperty(key).equals("2")) {
-                            exits.add(new Rectangle(x * 16, y * 16, 16, 16));
-                        }
-                        int tileID = Integer.parseInt(properties.getProperty(key));
-
-                        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
-                        cell.setTile(tileSet.getTile(tileID));
-                        objectLayer.setCell(x, y, cell);
-                    }
+        }
+        ObjectTable levelExits = level.getExits();
+        for (int i = 0; i < levelExits.size(); i++) {
+            int x = levelExits.getX(i) + borderTiles;
+            int y = levelExits.getY(i) + borderTiles;
+            exits.add(new Aabb(x * 16, y * 16, 16, 16));
+            triggers.add(x, y, id -> reachExit());
+            if (x < objectWidth && y < objectHeight) {
+                markerCells.put(y * objectWidth + x, new TiledMapTileLayer.Cell().setTile(tileSet.getTile(LevelData.EXIT)));
+            }
+        }
+
+        // add floor layer, the floor is the same tile everywhere, so the layer only holds a single cell
+        tiledMap.getLayers().add(new UniformTileLayer(floorWidth, floorHeight, 16, 16, floorCell));
+
+        if ((long) floorWidth * floorHeight > SPARSE_MODE_TILES) {
+            // large maps don't hold a cell slot per tile, the cells are read from the level when they are drawn
+            tiledMap.getLayers().add(new SparseTileLayer(objectWidth, objectHeight, 16, 16, (x, y) -> {
+                TiledMapTileLayer.Cell marker = markerCells.get(y * objectWidth + x);
+                if (marker != null) {
+                    return marker;
                 }
+                return level.isWall(x - borderTiles, y - borderTiles) ? wallCell : null;
+            }));
+        } else {
+            // add object layer (walls, entry and exits)
+            TiledMapTileLayer objectLayer = new TiledMapTileLayer(objectWidth, objectHeight, 16, 16);
+            for (long index = level.nextWall(0); index >= 0; index = level.nextWall(index + 1)) {
+                int x = (int) (index % mapWidth) + borderTiles;
+                int y = (int) (index / mapWidth) + borderTiles;
+                objectLayer.setCell(x, y, wallCell);
+            }
+            for (IntMap.Entry<TiledMapTileLayer.Cell> marker : markerCells.entries()) {
+                objectLayer.setCell(marker.key % objectWidth, marker.key / objectWidth, marker.value);
             }
             tiledMap.getLayers().add(objectLayer);
-        } catch (IOException e) {
-            e.printStackTrace();
+        }
+
+        // mobs spawn points
+        ObjectTable traps = level.getTraps();
+        for (int i = 0; i < traps.size(); i++) {
+            mobsPositions.add(new int[]{3, (traps.getX(i) + borderTiles) * 16, (traps.getY(i) + borderTiles) * 16});
+        }
+        ObjectTable dynamicMobs = level.getMobs();
+        for (int i = 0; i < dynamicMobs.size(); i++) {
+            mobsPositions.add(new int[]{4, (dynamicMobs.getX(i) + borderTiles) * 16, (dynamicMobs.getY(i) + borderTiles) * 16});
+        }
+
+        // collectables
+        ObjectTable hearts = level.getHearts();
+        for (int i = 0; i < hearts.size(); i++) {
+            heartsPositions.add(new int[]{(hearts.getX(i) + borderTiles) * 16, (hearts.getY(i) + borderTiles) * 16});
         }
         return tiledMap;
     }
 
     /**
-     * Spawns mobs at specified positions on the game map.
+     * Spawns a mob at a specified position on the game map.
      * <p>
-     * This method creates Mob instances at the locations specified in the mobsPositions list.
-     * It differentiates between different types of mobs based on identifiers in the index {@code 0} of the list
+     * This method creates a Mob instance at the location given by the spawn entry.
+     * It differentiates between different types of mobs based on the identifier in the index {@code 0} of the entry
      * (e.g., '4' for DynamicMob, '3' for StaticMob) and instantiates the corresponding mob type.
-     * The created mobs are added to a list which is then returned.
      * </p>
      *
-     * @param mobsPositions A list of integer arrays, each containing the type identifier and
-     *                      x, y coordinates for spawning a mob.
-     * @return A list of {@link Mob} instances created and positioned according to the input list.
-     */
-    private List<Mob> spawnMobs(List<int[]> mobsPositions) {
-        List<Mob> mobs = new ArrayList<>();
-        for (int[] coordinates : mobsPositions) {
-            if (coordinates[0] == 4) {
-                mobs.add(new DynamicMob(coordinates[1], coordinates[2], (TiledMapTileLayer) map.getLayers().get(1)));
-            } else if (coordinates[0] == 3) {
-                mobs.add(new StaticMob(coordinates[1], coordinates[2]));
-            }
+     * @param coordinates An integer array containing the type identifier and x, y coordinates for spawning the mob.
+     * @return The {@link Mob} instance created and positioned according to the entry.
+     */
+    private Mob spawnMob(int[] coordinates) {
+        if (coordinates[0] == 4) {
+            return new DynamicMob(coordinates[1], coordinates[2], collisionGrid);
         }
-        return mobs;
+        return new StaticMob(coordinates[1], coordinates[2]);
     }
 
     /**
-     * Spawns collectable hearts at specified positions on the game map.
+     * Spawns a collectable heart at a specified position on the game map.
      * <p>
-     * This method creates CollectableHearts instances at the locations specified in the heartsPositions list.
-     * The hearts are instantiated and added to a list, which is then returned. This method is crucial
-     * for placing health collectables on the map, providing players with opportunities to regain health.
+     * This method creates a CollectableHearts instance at the location given by the spawn entry. This is
+     * crucial for placing health collectables on the map, providing players with opportunities to regain health.
      * </p>
      *
-     * @param heartsPositions A list of integer arrays, each containing the coordinates for spawning a heart.
-     * @return A list of {@link CollectableHearts} instances created and positioned according to the input list.
+     * @param coordinates An integer array containing the coordinates for spawning the heart.
+     * @return The {@link CollectableHearts} instance created and positioned according to the entry.
      */
-    private List<CollectableHearts> spawnHearts(List<int[]> heartsPositions) {
-        List<CollectableHearts> hearts = new ArrayList<>();
-        for (int[] coordinates : heartsPositions) {
-            hearts.add(new CollectableHearts(coordinates[0], coordinates[1]));
-        }
-        return hearts;
+    private CollectableHearts spawnHeart(int[] coordinates) {
+        return new CollectableHearts(coordinates[0], coordinates[1]);
     }
 
     /**
@@ -701,21 +1252,27 @@ private List<CollectableHearts> spawnHearts(List<int[]> heartsPositions) {
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height);
+        updateViewSize();
+        hudCache.resize(width, height);
+        overlayStage.getViewport().update(width, height, true);
     }
 
     @Override
     public void pause() {
-
+        stopSimulation();
     }
 
     @Override
     public void resume() {
-
+        if (game.isThreadedSimulation()) {
+            startSimulation();
+        }
     }
 
     @Override
     public void hide() {
-
+        stopSimulation();
+        statsOverlay.suspend();
     }
 
     public MazeRunnerGame getGame() {
@@ -734,6 +1291,10 @@ public void setRenderer(OrthogonalTiledMapRenderer renderer) {
         this.renderer = renderer;
     }
 
+    public StaticMapCache getMapCache() {
+        return mapCache;
+    }
+
     public OrthographicCamera getCamera() {
         return camera;
     }
@@ -838,6 +1399,45 @@ public void setTileSet(TiledMapTileSet tileSet) {
         this.tileSet = tileSet;
     }
 
+    public LevelData getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the number of entities drawn in the last frame, see {@link #getCulledEntities()}.
+     *
+     * @return The number of mobs, hearts and buffs submitted to the batch.
+     */
+    public int getDrawnEntities() {
+        return snapshots.getReadSnapshot().getDrawnEntities();
+    }
+
+    /**
+     * Returns the number of entities that weren't drawn in the last frame because they were out of view.
+     *
+     * @return The number of culled mobs, hearts and buffs.
+     */
+    public int getCulledEntities() {
+        return snapshots.getReadSnapshot().getCulledEntities();
+    }
+
+    /**
+     * Returns if the game is currently simulated on a thread of its own.
+     *
+     * @return {@code true} while the simulation thread runs.
+     */
+    public boolean isSimulatedOnOwnThread() {
+        return simulation != null;
+    }
+
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
+    }
+
+    public Reachability getReachability() {
+        return reachability;
+    }
+
     public TiledMap getMap() {
         return map;
     }
@@ -846,18 +1446,67 @@ public void setMap(TiledMap map) {
         this.map = map;
     }
 
+    /**
+     * Releases the resources of this screen's level, but leaves the game alone.
+     * <p>
+     * This method is called by the game when the screen is replaced by the screen of another level, and when
+     * a level couldn't be loaded. It stops the simulation thread and disposes of the map renderer, the map's
+     * sprite cache, the HUD with its framebuffer, the stages, the player with its attack sound and the sounds of
+     * the level. Resources that haven't been created yet, because the level wasn't fully loaded, are skipped,
+     * and calling the method again does nothing.
+     * The screen can't be shown anymore afterwards.
+     * </p>
+     */
+    public void release() {
+        stopSimulation();
+        if (statsOverlay != null) {
+            statsOverlay.suspend();
+        }
+        if (renderer != null) {
+            renderer.dispose();
+            renderer = null;
+        }
+        if (mapCache != null) {
+            mapCache.dispose();
+            mapCache = null;
+        }
+        if (hudCache != null) {
+            hudCache.dispose();
+            hudCache = null;
+        }
+        if (stage != null) {
+            stage.dispose();
+            stage = null;
+        }
+        if (overlayStage != null) {
+            overlayStage.dispose();
+            overlayStage = null;
+        }
+        if (player != null) {
+            // the player's attack sound
+            player.dispose();
+            player = null;
+        }
+        if (takeDamageSound != null) {
+            takeDamageSound.dispose();
+            keyCollectedSound.dispose();
+            victorySound.dispose();
+            gameOverSound.dispose();
+            takeDamageSound = null;
+        }
+    }
+
     /**
      * Releases resources when they are no longer needed.
      * <p>
      * This method is called when the game is closing or when this screen is being disposed of.
-     * It is responsible for freeing up memory by disposing of resources such as the renderer
-     * and other game assets. Proper disposal of resources is crucial to prevent memory leaks
-     * and ensure efficient memory management.
+     * It releases the resources of the level with {@link #release()} and then disposes of the game.
+     * Proper disposal of resources is crucial to prevent memory leaks and ensure efficient memory management.
      * </p>
      */
     @Override
     public void dispose() {
-        renderer.dispose();
+        release();
         game.dispose();
     }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package de.tum.cit.ase.maze.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ProgressBar;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.FillViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.constants.GameState;
+import de.tum.cit.ase.maze.level.LevelCache;
+import de.tum.cit.ase.maze.level.LevelData;
+import de.tum.cit.ase.maze.level.MazeGenerator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Screen that loads a level while showing the loading progress.
+ * <p>
+ * Loading a level is split into two phases so that the window stays responsive. Reading and parsing the
+ * map (or generating a maze), building the tile layers and the spawn lists is pure CPU work and runs on a
+ * background thread ({@link GameScreen#prepareLevel}). Everything that needs the OpenGL context, like loading
+ * textures and creating the entities, has to happen on the render thread; it is done in small steps
+ * ({@link GameScreen#uploadNext()}) and each frame only spends {@code UPLOAD_BUDGET_NANOS} on them.
+ * Once the level is loaded, the game switches to the new {@link GameScreen}.
+ * </p>
+ */
+public class LoadingScreen implements Screen {
+
+    // time per frame that may be spent on creating the level's OpenGL resources
+    private static final long UPLOAD_BUDGET_NANOS = 4_000_000L;
+
+    private MazeRunnerGame game;
+    private OrthographicCamera camera;
+    private Viewport viewport;
+    private final Stage stage;
+    private Label statusLabel;
+    private ProgressBar progressBar;
+
+    private final ExecutorService loader;
+
+    // the screen that is being loaded and its background preparation
+    private GameScreen loadingGameScreen;
+    private Future<?> preparation;
+
+    /**
+     * Constructs a LoadingScreen for the MazeRunnerGame.
+     * <p>
+     * This constructor sets up the camera, viewport and stage of the screen, adds a status label and a
+     * progress bar, and starts the background thread that levels are prepared on.
+     * </p>
+     *
+     * @param game The MazeRunnerGame instance this screen is a part of.
+     */
+    public LoadingScreen(MazeRunnerGame game) {
+        this.game = game;
+        camera = new OrthographicCamera();
+        viewport = new FillViewport(Gdx.graphics.getWidth() * 1.5f, Gdx.graphics.getHeight() * 1.5f, camera);
+        stage = new Stage(viewport, game.getBatch());
+        loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        addProgressDisplay();
+    }
+
+    /**
+     * Starts loading a level.
+     * <p>
+     * A new {@link GameScreen} is created and the map is read (or taken from the game's {@link LevelCache})
+     * and prepared on the background thread. The rest of the loading happens while this screen is rendered.
+     * </p>
+     *
+     * @param mapLocation The file handle pointing to the map's file.
+     */
+    public void load(FileHandle mapLocation) {
+        start(() -> game.getLevelCache().get(mapLocation), "Reading map...");
+    }
+
+    /**
+     * Starts loading a randomly generated level.
+     * <p>
+     * The maze is generated by the {@link MazeGenerator} and prepared on the background thread,
+     * then loaded like a level read from a map.
+     * </p>
+     *
+     * @param seed   The seed of the maze.
+     * @param width  The width of the maze in tiles.
+     * @param height The height of the maze in tiles.
+     */
+    public void generate(long seed, int width, int height) {
+        start(() -> MazeGenerator.generate(seed, width, height), "Generating maze...");
+    }
+
+    private void start(Callable<LevelData> levelSource, String status) {
+        GameScreen gameScreen = new GameScreen(game);
+        loadingGameScreen = gameScreen;
+        preparation = loader.submit(() -> {
+            gameScreen.prepareLevel(levelSource.call());
+            return null;
+        });
+        statusLabel.setText(status);
+        progressBar.setValue(0f);
+    }
+
+    /**
+     * Renders the loading screen and advances the loading of the level.
+     * <p>
+     * As soon as the background preparation has finished, this method performs upload steps of the level until
+     * the frame's upload budget is used up, then updates the progress bar. When the last step is done, the
+     * game switches to the loaded level. If the level couldn't be prepared or loaded, the game returns to the menu
+     * and tells the player, see {@link #failLoading(Throwable)}.
+     * </p>
+     *
+     * @param delta The time span between the current and last frame in seconds.
+     */
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        if (preparation != null && preparation.isDone()) {
+            try {
+                preparation.get();
+            } catch (ExecutionException e) {
+                failLoading(e.getCause());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failLoading(e);
+                return;
+            }
+
+            long deadline = TimeUtils.nanoTime() + UPLOAD_BUDGET_NANOS;
+            boolean loaded;
+            try {
+                do {
+                    loaded = loadingGameScreen.uploadNext();
+                } while (!loaded && TimeUtils.nanoTime() < deadline);
+            } catch (RuntimeException e) {
+                failLoading(e);
+                return;
+            }
+
+            if (loaded) {
+                GameScreen gameScreen = loadingGameScreen;
+                preparation = null;
+                loadingGameScreen = null;
+                game.goToLoadedGame(gameScreen);
+                return;
+            }
+            statusLabel.setText("Loading textures...");
+            progressBar.setValue(loadingGameScreen.getLoadProgress());
+        }
+
+        stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
+        stage.draw();
+    }
+
+    /**
+     * Abandons the level that is being loaded and returns to the menu, which tells the player that the level
+     * couldn't be loaded.
+     * <p>
+     * The game state is set back to {@link GameState#NEW_GAME}, so that the next game started from the menu loads
+     * its level again instead of showing the level that was played before, or no level at all.
+     * </p>
+     *
+     * @param cause Why the level couldn't be loaded.
+     */
+    private void failLoading(Throwable cause) {
+        Gdx.app.error("LoadingScreen", "The level could not be loaded", cause);
+        preparation = null;
+        // free whatever the level already created
+        loadingGameScreen.release();
+        loadingGameScreen = null;
+        game.setGameState(GameState.NEW_GAME);
+        String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        game.getMenuScreen().showMessage("The level could not be loaded: " + reason);
+        game.gotoMenu();
+    }
+
+    /**
+     * Adds the status label and the progress bar to the loading screen.
+     */
+    private void addProgressDisplay() {
+        Table table = new Table();
+        table.setFillParent(true);
+        stage.addActor(table);
+
+        statusLabel = new Label("", game.getSkin(), "title");
+        table.add(statusLabel).padBottom(40).row();
+
+        progressBar = new ProgressBar(0f, 1f, 0.01f, false, game.getSkin());
+        table.add(progressBar).width(600);
+    }
+
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(stage);
+    }
+
+    /**
+     * Updates the viewport of the stage when the screen size changes.
+     *
+     * @param width The new width of the screen.
+     * @param height The new height of the screen.
+     */
+    @Override
+    public void resize(int width, int height) {
+        stage.getViewport().update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+
+    }
+
+    @Override
+    public void resume() {
+
+    }
+
+    @Override
+    public void hide() {
+
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public MazeRunnerGame getGame() {
+        return game;
+    }
+
+    public void setGame(MazeRunnerGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Releases the resources of the loading screen and stops its background thread.
+     */
+    @Override
+    public void dispose() {
+        loader.shutdownNow();
+        stage.dispose();
+    }
+}
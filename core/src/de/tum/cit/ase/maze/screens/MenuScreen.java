@@ -28,6 +28,8 @@ public class MenuScreen implements Screen {
     private Viewport viewport;
     private final Stage stage;
     private Texture backgroundTexture;
+    // tells the player why the last level couldn't be loaded, empty otherwise
+    private Label messageLabel;
 
     /**
      * Constructs a MenuScreen for the MazeRunnerGame.
@@ -109,9 +111,11 @@ private void addBackgroundImage() {
      *     <li>'Play Game' button: Allows the player to choose a map file and start the game.
      *         This button triggers a file chooser for selecting the map and then transitions
      *         the game to the gameplay screen.</li>
+     *     <li>'Random Maze' button: Starts the game on a newly generated maze.</li>
      *     <li>'Exit Game' button: Closes the game application.</li>
      * </ul>
-     * The method also adds a welcome label to the screen. The buttons and label are organized
+     * The method also adds a welcome label to the screen, and a label below the buttons that shows
+     * why the last level couldn't be loaded. The buttons and label are organized
      * within a table layout for consistent and manageable positioning. Listeners are attached
      * to the buttons to handle the respective actions when they are clicked.
      * </p>
@@ -141,6 +145,7 @@ public void changed(ChangeEvent event, Actor actor) {
                 game.getFileChooser().chooseFile(conf, new NativeFileChooserCallback() {
                     @Override
                     public void onFileChosen(FileHandle file) {
+                        showMessage("");
                         game.setFileHandle(file);
                         game.goToGame();
                     }
@@ -158,6 +163,17 @@ public void onError(Exception exception) {
             }
         });
 
+        // Create and add a button to play a randomly generated maze
+        TextButton randomMazeButton = new TextButton("Random Maze", game.getSkin());
+        table.add(randomMazeButton).width(300).row();
+        randomMazeButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                showMessage("");
+                game.goToGeneratedGame();
+            }
+        });
+
         // Create and add a button to exit the game
         TextButton exitButton = new TextButton("Exit Game", game.getSkin());
         table.add(exitButton).width(300).row();
@@ -167,6 +183,18 @@ public void changed(ChangeEvent event, Actor actor) {
                 Gdx.app.exit();
             }
         });
+
+        messageLabel = new Label("", game.getSkin());
+        table.add(messageLabel).padTop(20);
+    }
+
+    /**
+     * Shows a message below the buttons of the menu, for example that the selected map couldn't be loaded.
+     *
+     * @param message The message, or an empty string to remove the message.
+     */
+    public void showMessage(String message) {
+        messageLabel.setText(message);
     }
 
     /**
@@ -0,0 +1,60 @@
+package de.tum.cit.ase.maze.simulation;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * The keys that control the player, sampled by the render thread and read by the simulation.
+ * <p>
+ * The keyboard state of the backend is written by the render thread without any synchronization, so the
+ * simulation thread must not read it. Instead, the render thread calls {@link #sample()} once per frame, which
+ * reads the keys of the player and publishes them as a single volatile bit mask; the simulation only reads that
+ * mask, see {@link #getPressed()}. Reading the mask once per step also means that all decisions of a step are
+ * based on the same keys. When the game is simulated on the render thread, the same object is sampled and read
+ * by that thread.
+ * </p>
+ */
+public class InputState {
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int ATTACK = 1 << 4;
+
+    // the keys held at the last sample, a combination of the constants above
+    private volatile int pressed;
+
+    /**
+     * Reads the keys of the player from the backend and publishes them. Must be called on the render thread.
+     */
+    public void sample() {
+        int keys = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) keys |= LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) keys |= RIGHT;
+        if (Gdx.input.isKeyPressed(Input.Keys.UP)) keys |= UP;
+        if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) keys |= DOWN;
+        if (Gdx.input.isKeyPressed(Input.Keys.A)) keys |= ATTACK;
+        pressed = keys;
+    }
+
+    /**
+     * Releases all keys, for example while the game is paused, so that no key is held when it continues.
+     */
+    public void clear() {
+        pressed = 0;
+    }
+
+    /**
+     * Returns the keys held at the last sample. May be called by any thread.
+     *
+     * @return A combination of {@link #LEFT}, {@link #RIGHT}, {@link #UP}, {@link #DOWN} and {@link #ATTACK}.
+     */
+    public int getPressed() {
+        return pressed;
+    }
+
+    public void setPressed(int pressed) {
+        this.pressed = pressed;
+    }
+}
@@ -0,0 +1,201 @@
+package de.tum.cit.ase.maze.simulation;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * Everything the render thread needs to draw one simulation step of the game.
+ * <p>
+ * A snapshot holds the sprites of the entities in view, each with its animation frame and its positions before and
+ * after the step, the position the camera follows, and the values shown in the HUD. The render thread draws a
+ * snapshot without touching any entity, so the entities can be simulated on another thread in the meantime, see
+ * {@link SnapshotBuffer}. The frames are the texture regions of the entities' animations, which are never changed
+ * once they are loaded, so they can be shared between the threads.
+ * </p>
+ * <p>
+ * The sprites are kept in a reused array of floats, so writing a snapshot every step doesn't allocate anything once
+ * the arrays have grown to the number of sprites in view.
+ * </p>
+ */
+public class RenderSnapshot {
+
+    // previous x, previous y, x, y, width and height of a sprite
+    private static final int FLOATS_PER_SPRITE = 6;
+
+    private final Array<TextureRegion> frames;
+    private float[] sprites;
+
+    private float cameraPreviousX;
+    private float cameraPreviousY;
+    private float cameraX;
+    private float cameraY;
+
+    private int playerLives;
+    private boolean hasKey;
+
+    private int drawnEntities;
+    private int culledEntities;
+
+    // the number of the step and the time it was published at, see SnapshotBuffer#publish()
+    private long step;
+    private long publishedAt;
+
+    /**
+     * Constructs an empty RenderSnapshot.
+     */
+    public RenderSnapshot() {
+        frames = new Array<>(true, 64, TextureRegion.class);
+        sprites = new float[64 * FLOATS_PER_SPRITE];
+    }
+
+    /**
+     * Removes all sprites, so that the snapshot can be written again.
+     */
+    public void clear() {
+        frames.clear();
+    }
+
+    /**
+     * Adds a sprite, the sprites are drawn in the order they were added.
+     *
+     * @param frame     The animation frame of the sprite.
+     * @param previousX The x-coordinate of the sprite before the step.
+     * @param previousY The y-coordinate of the sprite before the step.
+     * @param x         The x-coordinate of the sprite after the step.
+     * @param y         The y-coordinate of the sprite after the step.
+     * @param width     The width the frame is drawn with.
+     * @param height    The height the frame is drawn with.
+     */
+    public void addSprite(TextureRegion frame, float previousX, float previousY, float x, float y, float width, float height) {
+        int offset = frames.size * FLOATS_PER_SPRITE;
+        if (offset == sprites.length) {
+            sprites = Arrays.copyOf(sprites, sprites.length * 2);
+        }
+        frames.add(frame);
+        sprites[offset] = previousX;
+        sprites[offset + 1] = previousY;
+        sprites[offset + 2] = x;
+        sprites[offset + 3] = y;
+        sprites[offset + 4] = width;
+        sprites[offset + 5] = height;
+    }
+
+    /**
+     * Draws the sprites between their positions before and after the step.
+     *
+     * @param batch The batch to draw with, between its begin() and end().
+     * @param alpha How far the frame lies between the step before and the step of this snapshot, from 0 to 1.
+     */
+    public void draw(Batch batch, float alpha) {
+        for (int i = 0; i < frames.size; i++) {
+            int offset = i * FLOATS_PER_SPRITE;
+            float previousX = sprites[offset];
+            float previousY = sprites[offset + 1];
+            batch.draw(
+                    frames.get(i),
+                    previousX + (sprites[offset + 2] - previousX) * alpha,
+                    previousY + (sprites[offset + 3] - previousY) * alpha,
+                    sprites[offset + 4],
+                    sprites[offset + 5]
+            );
+        }
+    }
+
+    /**
+     * Sets the position the camera follows, before and after the step.
+     */
+    public void setCamera(float previousX, float previousY, float x, float y) {
+        cameraPreviousX = previousX;
+        cameraPreviousY = previousY;
+        cameraX = x;
+        cameraY = y;
+    }
+
+    /**
+     * Returns the x-coordinate of the camera.
+     *
+     * @param alpha How far the frame lies between the step before and the step of this snapshot, from 0 to 1.
+     * @return The x-coordinate interpolated between the positions before and after the step.
+     */
+    public float getCameraX(float alpha) {
+        return cameraPreviousX + (cameraX - cameraPreviousX) * alpha;
+    }
+
+    /**
+     * Returns the y-coordinate of the camera.
+     *
+     * @param alpha How far the frame lies between the step before and the step of this snapshot, from 0 to 1.
+     * @return The y-coordinate interpolated between the positions before and after the step.
+     */
+    public float getCameraY(float alpha) {
+        return cameraPreviousY + (cameraY - cameraPreviousY) * alpha;
+    }
+
+    /**
+     * Sets the values shown in the HUD.
+     */
+    public void setHud(int playerLives, boolean hasKey) {
+        this.playerLives = playerLives;
+        this.hasKey = hasKey;
+    }
+
+    /**
+     * Sets the number of entities in view and the number of entities left out for being out of view.
+     */
+    public void setEntityCounts(int drawnEntities, int culledEntities) {
+        this.drawnEntities = drawnEntities;
+        this.culledEntities = culledEntities;
+    }
+
+    void setPublished(long step, long publishedAt) {
+        this.step = step;
+        this.publishedAt = publishedAt;
+    }
+
+    /**
+     * Returns how far a frame drawn at the given time lies between the step before and the step of this snapshot.
+     * <p>
+     * A snapshot published one step ago is drawn at its final positions, so the sprites arrive there just as the
+     * next snapshot is published. Frames drawn later than that, while the simulation is late, stay at 1.
+     * </p>
+     *
+     * @param now       The time of the frame, from {@link System#nanoTime()}.
+     * @param stepNanos The length of a simulation step in nanoseconds.
+     * @return The interpolation factor, from 0 to 1.
+     */
+    public float getAlpha(long now, long stepNanos) {
+        float alpha = (float) (now - publishedAt) / stepNanos;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    public int getSpriteCount() {
+        return frames.size;
+    }
+
+    public int getPlayerLives() {
+        return playerLives;
+    }
+
+    public boolean isHasKey() {
+        return hasKey;
+    }
+
+    public int getDrawnEntities() {
+        return drawnEntities;
+    }
+
+    public int getCulledEntities() {
+        return culledEntities;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,111 @@
+package de.tum.cit.ase.maze.simulation;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A thread that simulates the game in fixed steps, next to the render thread.
+ * <p>
+ * The thread runs its step at a fixed rate until it is stopped. A step that is late runs right away; if the thread
+ * falls behind by more than {@code maxStepsBehind} steps, for example while the machine is busy, the missed steps are
+ * dropped instead of being run back to back, so the game slows down for a moment instead of racing to catch up.
+ * </p>
+ * <p>
+ * The step must not touch anything of the render thread: OpenGL, the sounds and the screens. What the render thread
+ * needs is published by the step, see {@link SnapshotBuffer}, and the rest is handed over with
+ * {@link #runOnRenderThread(Runnable)}. If a step throws, the thread stops and rethrows the exception on the
+ * render thread, so that the game crashes the same way as when it is simulated on the render thread, instead of
+ * freezing on the last snapshot.
+ * </p>
+ */
+public class SimulationThread extends Thread {
+
+    private final Runnable step;
+    private final long stepNanos;
+    private final int maxStepsBehind;
+    private volatile boolean running;
+
+    /**
+     * Constructs a SimulationThread, it starts running the step once it is started.
+     *
+     * @param step           The simulation step.
+     * @param stepNanos      The time between two steps in nanoseconds.
+     * @param maxStepsBehind The number of steps the thread may fall behind before it drops them.
+     */
+    public SimulationThread(Runnable step, long stepNanos, int maxStepsBehind) {
+        super("simulation");
+        // never keeps the application alive on its own
+        setDaemon(true);
+        this.step = step;
+        this.stepNanos = stepNanos;
+        this.maxStepsBehind = maxStepsBehind;
+        this.running = true;
+    }
+
+    @Override
+    public void run() {
+        long nextStep = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            if (now < nextStep) {
+                LockSupport.parkNanos(this, nextStep - now);
+                continue;
+            }
+            try {
+                step.run();
+            } catch (RuntimeException | Error e) {
+                running = false;
+                Gdx.app.error("SimulationThread", "The simulation step failed, rethrowing on the render thread: " + e);
+                Gdx.app.postRunnable(() -> {
+                    throw e;
+                });
+                return;
+            }
+            nextStep += stepNanos;
+            if (now - nextStep > maxStepsBehind * stepNanos) {
+                // too far behind, drop the missed steps
+                nextStep = now;
+            }
+        }
+    }
+
+    /**
+     * Stops the thread and waits until the step it is running is done. After this method returned, the state of the
+     * simulation can be used by the calling thread again.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Runs a task on the render thread.
+     * <p>
+     * Called from a simulation thread, the task is posted to the render thread and runs before its next frame.
+     * Called from any other thread, the game is simulated on the render thread and the task runs right away.
+     * </p>
+     *
+     * @param task The task, for example playing a sound or switching the screen.
+     */
+    public static void runOnRenderThread(Runnable task) {
+        if (Thread.currentThread() instanceof SimulationThread) {
+            Gdx.app.postRunnable(task);
+        } else {
+            task.run();
+        }
+    }
+}
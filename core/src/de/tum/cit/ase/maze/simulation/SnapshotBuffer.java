@@ -0,0 +1,80 @@
+package de.tum.cit.ase.maze.simulation;
+
+/**
+ * Hands {@link RenderSnapshot}s from the thread that simulates the game to the render thread.
+ * <p>
+ * The buffer holds three snapshots: the one being written by the simulation, the one last published, and the one
+ * being drawn. {@link #publish()} swaps the written snapshot with the published one, {@link #acquire()} swaps the
+ * published snapshot with the drawn one if a newer one was published since. Only these swaps are synchronized, they
+ * take a few nanoseconds, so neither thread ever waits for the other to finish writing or drawing a snapshot, and
+ * neither sees a snapshot the other one is still working on. With only two snapshots, the simulation would have to
+ * wait for the render thread to let go of the one it is drawing.
+ * </p>
+ * <p>
+ * When both run on the render thread, the snapshot is simply published and acquired in turn.
+ * </p>
+ */
+public class SnapshotBuffer {
+
+    private RenderSnapshot writing;
+    private RenderSnapshot published;
+    private RenderSnapshot reading;
+    // if the published snapshot is newer than the one being drawn
+    private boolean fresh;
+    private long steps;
+
+    /**
+     * Constructs a SnapshotBuffer with three empty snapshots.
+     */
+    public SnapshotBuffer() {
+        writing = new RenderSnapshot();
+        published = new RenderSnapshot();
+        reading = new RenderSnapshot();
+    }
+
+    /**
+     * Returns the snapshot to write the next step into. May only be used by the thread that publishes the snapshots,
+     * and only until the next call to {@link #publish()}.
+     *
+     * @return The snapshot that is written.
+     */
+    public RenderSnapshot getWriteSnapshot() {
+        return writing;
+    }
+
+    /**
+     * Publishes the written snapshot, it replaces the previously published one if that wasn't acquired yet.
+     */
+    public synchronized void publish() {
+        writing.setPublished(++steps, System.nanoTime());
+        RenderSnapshot snapshot = published;
+        published = writing;
+        writing = snapshot;
+        fresh = true;
+    }
+
+    /**
+     * Returns the snapshot published last. May only be used by the render thread, and only until the next call to
+     * {@link #acquire()}.
+     *
+     * @return The latest snapshot, or an empty one if none was published yet.
+     */
+    public synchronized RenderSnapshot acquire() {
+        if (fresh) {
+            RenderSnapshot snapshot = reading;
+            reading = published;
+            published = snapshot;
+            fresh = false;
+        }
+        return reading;
+    }
+
+    /**
+     * Returns the snapshot returned by the last call to {@link #acquire()}, without looking for a newer one.
+     *
+     * @return The snapshot being drawn.
+     */
+    public synchronized RenderSnapshot getReadSnapshot() {
+        return reading;
+    }
+}
@@ -13,7 +13,7 @@ public class DesktopLauncher {
 	/**
 	 * The main method sets up the configuration for the game window and starts the application.
 	 *
-	 * @param arg Command line arguments (not used in this application)
+	 * @param arg Command line arguments, {@code --threaded-simulation} simulates the game on a thread of its own
 	 */
 	public static void main(String[] arg) {
 		// Configuration for the game window
@@ -30,7 +30,14 @@ public static void main(String[] arg) {
 		config.useVsync(true); // Enable vertical sync
 		config.setForegroundFPS(60); // Set the foreground frames per second
 
+		MazeRunnerGame game = new MazeRunnerGame(new DesktopFileChooser());
+		for (String option : arg) {
+			if (option.equals("--threaded-simulation")) {
+				game.setThreadedSimulation(true);
+			}
+		}
+
 		// Launch the game
-		new Lwjgl3Application(new MazeRunnerGame(new DesktopFileChooser()), config);
+		new Lwjgl3Application(game, config);
 	}
 }
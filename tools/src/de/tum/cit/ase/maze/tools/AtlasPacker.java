@@ -0,0 +1,73 @@
+package de.tum.cit.ase.maze.tools;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.ObjectMap;
+import de.tum.cit.ase.maze.graphics.SpriteAtlas;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Command-line tool that packs the sprite sheets of the game into the texture atlas loaded by {@link SpriteAtlas}.
+ * <p>
+ * Every sheet listed by {@link SpriteAtlas#getSheetFiles()} becomes one region of the atlas, named like the sheet.
+ * The sheets are packed whole, without stripping transparent borders, so the entities can keep cutting their
+ * animation frames out of a sheet by the frame's position in it. The edges of every sheet are padded with copies
+ * of their outer pixels, so that no neighbouring sheet bleeds into a frame when the camera zooms.
+ * </p>
+ * <p>
+ * Usage: {@code AtlasPacker <assets directory> [output directory]}. The output directory defaults to the assets
+ * directory. Run it with {@code gradlew :tools:packAtlas}, which the desktop game depends on.
+ * </p>
+ */
+public class AtlasPacker {
+
+    /**
+     * Packs the sprite sheets of an assets directory.
+     *
+     * @param args The assets directory, and optionally the output directory.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: AtlasPacker <assets directory> [output directory]");
+            System.exit(2);
+        }
+        File assetsDirectory = new File(args[0]);
+        File outputDirectory = new File(args.length > 1 ? args[1] : args[0]);
+
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = 2048;
+        settings.maxHeight = 2048;
+        settings.paddingX = 2;
+        settings.paddingY = 2;
+        settings.duplicatePadding = true;
+        settings.stripWhitespaceX = false;
+        settings.stripWhitespaceY = false;
+        settings.rotation = false;
+        settings.useIndexes = false;
+        settings.filterMin = Texture.TextureFilter.Nearest;
+        settings.filterMag = Texture.TextureFilter.Nearest;
+
+        TexturePacker packer = new TexturePacker(settings);
+        for (ObjectMap.Entry<String, String> sheet : SpriteAtlas.getSheetFiles()) {
+            File file = new File(assetsDirectory, sheet.value);
+            try {
+                BufferedImage image = ImageIO.read(file);
+                if (image == null) {
+                    System.err.println("Not an image: " + file);
+                    System.exit(1);
+                }
+                packer.addImage(image, sheet.key);
+            } catch (IOException e) {
+                System.err.println("Could not read " + file + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        packer.pack(outputDirectory, SpriteAtlas.ATLAS_NAME);
+        System.out.println("Packed " + SpriteAtlas.getSheetFiles().size + " sprite sheets into "
+                + new File(outputDirectory, SpriteAtlas.ATLAS_NAME + ".atlas"));
+    }
+}
@@ -0,0 +1,141 @@
+package de.tum.cit.ase.maze.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.level.BinaryMapFormat;
+import de.tum.cit.ase.maze.level.MapValidator;
+import de.tum.cit.ase.maze.level.Reachability;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line tool that validates the {@code .properties} maps of a directory and compiles them into
+ * binary {@code .maze} maps.
+ * <p>
+ * Every map is parsed and checked by the {@link MapValidator}, including whether it can be solved; maps are
+ * processed in parallel on all cores. Valid maps are written to the output directory in the
+ * {@link BinaryMapFormat}, which the game loads without parsing any text. Invalid maps are reported with their
+ * problems and not written. The process exits with status {@code 1} if any map is invalid or can't be read, so
+ * a build can reject broken maps.
+ * </p>
+ * <p>
+ * Usage: {@code MapCompiler <map directory> [output directory]}. The output directory defaults to the map
+ * directory. Run it with {@code gradlew :tools:compileMaps}, which compiles the maps of {@code maps/} into
+ * {@code build/maps/}.
+ * </p>
+ */
+public class MapCompiler {
+
+    private static final String MAP_EXTENSION = ".properties";
+
+    /**
+     * Validates and compiles all maps of a directory.
+     *
+     * @param args The map directory, and optionally the output directory.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: MapCompiler <map directory> [output directory]");
+            System.exit(2);
+        }
+        File mapDirectory = new File(args[0]);
+        File outputDirectory = new File(args.length > 1 ? args[1] : args[0]);
+
+        File[] maps = mapDirectory.listFiles((directory, name) -> name.endsWith(MAP_EXTENSION));
+        if (maps == null) {
+            System.err.println("Not a directory: " + mapDirectory);
+            System.exit(2);
+        }
+        Arrays.sort(maps);
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            System.err.println("Could not create output directory " + outputDirectory);
+            System.exit(2);
+        }
+
+        boolean success = compileAll(maps, outputDirectory);
+        System.exit(success ? 0 : 1);
+    }
+
+    /**
+     * Validates and compiles maps in parallel and prints one line per map, in the order of the given maps.
+     *
+     * @param maps            The map files.
+     * @param outputDirectory The directory the compiled maps are written to.
+     * @return {@code true} if all maps are valid and were written.
+     */
+    public static boolean compileAll(File[] maps, File outputDirectory) {
+        ExecutorService workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<MapValidator.Report>> results = new ArrayList<>();
+            for (File map : maps) {
+                results.add(workers.submit(() -> compile(map, outputDirectory)));
+            }
+
+            int failed = 0;
+            for (int i = 0; i < maps.length; i++) {
+                List<String> problems;
+                Reachability reachability = null;
+                try {
+                    MapValidator.Report report = results.get(i).get();
+                    problems = report.getProblems();
+                    reachability = report.getReachability();
+                } catch (ExecutionException e) {
+                    problems = List.of(String.valueOf(e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                if (problems.isEmpty()) {
+                    System.out.println("OK      " + maps[i].getName() + " (shortest solution: " + reachability.getSolutionLength() + " steps)");
+                } else {
+                    failed++;
+                    System.out.println("INVALID " + maps[i].getName());
+                    for (String problem : problems) {
+                        System.out.println("        - " + problem);
+                    }
+                }
+                if (reachability != null && reachability.getDeadRegions() > 0) {
+                    System.out.println("        note: " + reachability.getDeadRegions()
+                            + (reachability.getDeadRegions() == 1 ? " region (" : " regions (") + reachability.getDeadTiles()
+                            + " tiles) can't be reached from the spawn");
+                }
+            }
+            System.out.println((maps.length - failed) + " of " + maps.length + " maps compiled to " + outputDirectory);
+            return failed == 0;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Validates a single map and writes its compiled form if it is valid.
+     *
+     * @param map             The map file.
+     * @param outputDirectory The directory the compiled map is written to.
+     * @return The validation report of the map; the map was compiled if the report is valid.
+     * @throws IOException If the map can't be read or the compiled map can't be written.
+     */
+    private static MapValidator.Report compile(File map, File outputDirectory) throws IOException {
+        MapValidator.Report report = MapValidator.validate(new FileHandle(map));
+        if (!report.isValid()) {
+            return report;
+        }
+
+        String name = map.getName().substring(0, map.getName().length() - MAP_EXTENSION.length());
+        File target = new File(outputDirectory, name + "." + BinaryMapFormat.EXTENSION);
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(target))) {
+            BinaryMapFormat.write(report.getLevel(), output);
+        }
+        return report;
+    }
+}